@@ -0,0 +1,359 @@
+/**
+ * BatchSolver.java
+ * Solves a stream of N-Queens jobs read from a file (or standard input) and writes one NDJSON
+ * result line per job as soon as it finishes. Jobs are read lazily and run on a work-stealing
+ * ForkJoinPool sized to the cores; a semaphore caps how many are read ahead, so memory stays
+ * flat however long the batch is. Results arrive in completion order and carry their job number.
+ *
+ * Input: one job per line, "<size> [seed] [partial]". Blank lines and lines starting with '#' are
+ * skipped. A partial board lists one entry per row separated by commas, a column for a fixed
+ * queen or '.' for a free row, e.g. "8 0,.,.,.,.,.,1,."; it is completed by PartialBoardSolver.
+ * With a SolutionCache, repeated sizes are answered from it, as the symmetry picked by the seed.
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BatchSolver {
+
+    // Repair steps allowed per queen in one attempt, and attempts (each reseeded) per job
+    private static final long STEPS_PER_QUEEN = 100;
+    private static final int ATTEMPTS = 8;
+
+    // Placements tried on a partial board before the job is reported unsolved
+    private static final long PARTIAL_NODE_LIMIT = 10_000_000;
+
+    // Largest board accepted; a search of it already needs a few hundred MB of heap
+    static final int MAX_SIZE = 10_000_000;
+
+    // Queens the --cache keeps in memory: 16M columns is 64 MB, however the sizes are spread
+    private static final long CACHE_COLUMNS = 16L << 20;
+
+    // One parsed input line
+    static final class Job {
+        final long id;
+        final int boardSize;
+        final long seed;
+        final int[] partial; // null unless some queens are fixed
+
+        Job(long id, int boardSize, long seed, int[] partial) {
+            this.id = id;
+            this.boardSize = boardSize;
+            this.seed = seed;
+            this.partial = partial;
+        }
+    }
+
+    private final int parallelism;
+    private final int maxInFlight;
+    private final SolutionCache cache;
+    private final AtomicLong solved = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile IOException writeError;
+
+    public BatchSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchSolver(int parallelism) {
+        this(parallelism, null);
+    }
+
+    // cache may be null to search every job
+    public BatchSolver(int parallelism, SolutionCache cache) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.maxInFlight = 2 * parallelism;
+        this.cache = cache;
+    }
+
+    public long getSolved() {
+        return solved.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // Reads every job from in and writes a result line for each to out; returns the job count
+    public long run(BufferedReader in, Writer out) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore slots = new Semaphore(maxInFlight);
+        long jobs = 0;
+        try {
+            String line;
+            long lineNumber = 0;
+            while (writeError == null && (line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                slots.acquireUninterruptibly();
+                jobs++;
+                long id = lineNumber;
+                String text = line;
+                pool.execute(() -> {
+                    try {
+                        if (writeError == null) {
+                            emit(out, process(id, text));
+                        }
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+            // Every slot back means every job has written its line
+            slots.acquireUninterruptibly(maxInFlight);
+        } finally {
+            pool.shutdown();
+        }
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+        out.flush();
+        return jobs;
+    }
+
+    // Always returns the job's line and counts it as solved or failed, whatever goes wrong,
+    // including a search that runs out of memory
+    private String process(long id, String text) {
+        String line;
+        boolean found = false;
+        try {
+            Job job = parse(id, text);
+            long start = System.nanoTime();
+            int[] columns = solve(job);
+            long timeMs = (System.nanoTime() - start) / 1_000_000;
+            line = toJson(job, columns, timeMs);
+            found = columns != null;
+        } catch (IllegalArgumentException e) {
+            line = error(id, e.getMessage());
+        } catch (IOException e) {
+            line = error(id, String.valueOf(e.getMessage()));
+        } catch (RuntimeException | Error e) {
+            line = error(id, e.toString());
+        }
+        if (found) {
+            solved.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+        return line;
+    }
+
+    private static String error(long id, String message) {
+        return "{\"job\":" + id + ",\"error\":\"" + escape(message) + "\"}";
+    }
+
+    static Job parse(long id, String text) {
+        String[] fields = text.split("\\s+");
+        int count = fields.length;
+        String board = null;
+        if (count > 1 && (fields[count - 1].indexOf(',') >= 0 || fields[count - 1].equals("."))) {
+            board = fields[--count];
+        }
+        if (count > 2) {
+            throw new IllegalArgumentException("Expected \"<size> [seed] [partial]\" but got: " + text);
+        }
+        int boardSize;
+        long seed;
+        try {
+            boardSize = Integer.parseInt(fields[0]);
+            seed = count > 1 ? Long.parseLong(fields[1]) : id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + text);
+        }
+        if (boardSize < 1 || boardSize > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIZE + ": " + boardSize);
+        }
+        return new Job(id, boardSize, seed, board == null ? null : parsePartial(boardSize, board));
+    }
+
+    private static int[] parsePartial(int boardSize, String board) {
+        if (boardSize > PartialBoardSolver.MAX_SIZE) {
+            throw new IllegalArgumentException("Partial boards are limited to size " + PartialBoardSolver.MAX_SIZE);
+        }
+        String[] entries = board.split(",", -1);
+        if (entries.length != boardSize) {
+            throw new IllegalArgumentException("Partial board has " + entries.length + " rows, expected " + boardSize);
+        }
+        int[] partial = new int[boardSize];
+        for (int row = 0; row < boardSize; row++) {
+            if (entries[row].equals(".")) {
+                partial[row] = PartialBoardSolver.FREE;
+                continue;
+            }
+            try {
+                partial[row] = Integer.parseInt(entries[row]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad entry for row " + row + ": " + entries[row]);
+            }
+            if (partial[row] < 0 || partial[row] >= boardSize) {
+                throw new IllegalArgumentException("Column " + partial[row] + " outside board of size " + boardSize);
+            }
+        }
+        return partial;
+    }
+
+    // Returns a conflict-free placement, or null when there is none or none was found in time
+    int[] solve(Job job) throws IOException {
+        if (job.partial != null) {
+            return new PartialBoardSolver(job.partial, PARTIAL_NODE_LIMIT).complete();
+        }
+        if (cache == null || job.boardSize < 4) {
+            return search(job);
+        }
+        int[] cols = cache.getOrSolve(job.boardSize, size -> search(job));
+        return cols == null ? null : SolutionCache.transform(cols, (int) (job.seed & (SolutionCache.SYMMETRIES - 1)));
+    }
+
+    static int[] search(Job job) {
+        int n = job.boardSize;
+        if (n == 1) {
+            return new int[] {0};
+        }
+        if (n < 4) {
+            return null;
+        }
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            QueensBoard board = new MinConflictsSolver(n, job.seed + attempt, STEPS_PER_QUEEN * n).solve();
+            if (board.isSolved()) {
+                return board.columns();
+            }
+        }
+        return null;
+    }
+
+    static String toJson(Job job, int[] columns, long timeMs) {
+        StringBuilder json = new StringBuilder(64 + (columns == null ? 0 : 8 * columns.length));
+        json.append("{\"job\":").append(job.id)
+                .append(",\"n\":").append(job.boardSize)
+                .append(",\"seed\":").append(job.seed);
+        if (job.partial != null) {
+            int fixed = 0;
+            for (int col : job.partial) {
+                if (col != PartialBoardSolver.FREE) {
+                    fixed++;
+                }
+            }
+            json.append(",\"fixed\":").append(fixed);
+        }
+        json.append(",\"solved\":").append(columns != null)
+                .append(",\"timeMs\":").append(timeMs);
+        if (columns != null) {
+            json.append(",\"columns\":[");
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(columns[i]);
+            }
+            json.append(']');
+        }
+        return json.append('}').toString();
+    }
+
+    // Quotes, backslashes and control characters, so that a line of input never breaks the JSON
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Lines from different workers must not interleave, and each is flushed so a reader sees it
+    // at once. The first write failure stops the batch and is rethrown by run().
+    private void emit(Writer out, String line) {
+        synchronized (out) {
+            try {
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                if (writeError == null) {
+                    writeError = e;
+                }
+            }
+        }
+    }
+
+    // java BatchSolver [--cache <dir>] <jobs file | -> [output file]
+    public static void main(String[] args) throws IOException {
+        SolutionCache cache = null;
+        if (args.length >= 2 && args[0].equals("--cache")) {
+            cache = new SolutionCache(CACHE_COLUMNS, Paths.get(args[1]));
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        if (args.length < 1) {
+            System.err.println("Usage: java BatchSolver [--cache <dir>] <jobs file | -> [output file]");
+            return;
+        }
+        BufferedReader in = args[0].equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8);
+        Writer out = args.length > 1
+                ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+
+        BatchSolver batch = new BatchSolver(Runtime.getRuntime().availableProcessors(), cache);
+        long start = System.nanoTime();
+        long jobs;
+        try {
+            jobs = batch.run(in, out);
+        } finally {
+            in.close();
+            if (args.length > 1) {
+                out.close();
+            }
+        }
+        System.err.println(jobs + " jobs, " + batch.getSolved() + " solved, " + batch.getFailed()
+                + " failed in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        if (cache != null) {
+            System.err.println("Cache: " + cache);
+        }
+    }
+}
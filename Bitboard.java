@@ -0,0 +1,257 @@
+package Connect4;
+
+/**
+ * Bitboard.java
+ * Connect 4 position held as two 64-bit masks, one per player, plus the height of each column.
+ * Column c uses bits c*7 .. c*7+5 from the bottom row up; bit c*7+6 is an always-empty sentinel
+ * so that shifted lines never wrap from one column into the next. A move is one OR, and a win
+ * check is four pairs of shifts and ANDs. Red moves first, as whose_move expects.
+ */
+public class Bitboard {
+
+	public static final int ROWS = 6;
+	public static final int COLUMNS = 7;
+	public static final int HEIGHT = ROWS + 1; // bits per column, including the sentinel
+
+	// Lowest square of every column, and every playable square
+	public static final long BOTTOM = bottomMask();
+	public static final long BOARD = BOTTOM * ((1L << ROWS) - 1);
+
+	private long red;
+	private long yellow;
+	private final int[] heights = new int[COLUMNS]; // pieces in each column
+	private int moves;
+
+	public Bitboard() {
+	}
+
+	public Bitboard(Bitboard other) {
+		red = other.red;
+		yellow = other.yellow;
+		System.arraycopy(other.heights, 0, heights, 0, COLUMNS);
+		moves = other.moves;
+	}
+
+	private static long bottomMask() {
+		long mask = 0;
+		for (int col = 0; col < COLUMNS; col++) {
+			mask |= 1L << (col * HEIGHT);
+		}
+		return mask;
+	}
+
+	// Bit of the square at the given height (0 = bottom) of a column
+	public static long square(int col, int height) {
+		return 1L << (col * HEIGHT + height);
+	}
+
+	// Reads the String[6][7] board used by Connect4 (row 0 at the top). Throws
+	// IllegalArgumentException if it is the wrong size, holds anything but "R", "Y" and ".",
+	// has a floating piece, or has piece counts that no game could reach
+	public static Bitboard fromArray(String[][] board) {
+		if (board == null || board.length != ROWS) {
+			throw new IllegalArgumentException("Board must have " + ROWS + " rows");
+		}
+		Bitboard position = new Bitboard();
+		for (int col = 0; col < COLUMNS; col++) {
+			boolean gap = false;
+			for (int row = ROWS - 1; row >= 0; row--) {
+				if (board[row] == null || board[row].length != COLUMNS) {
+					throw new IllegalArgumentException("Row " + row + " must have " + COLUMNS + " columns");
+				}
+				String cell = board[row][col];
+				char c = cell == null || cell.isEmpty() ? '?' : cell.charAt(0);
+				if (c == '.') {
+					gap = true;
+				} else if (c == 'R' || c == 'Y') {
+					if (gap) {
+						throw new IllegalArgumentException("Floating piece at row " + row + ", column " + col);
+					}
+					long bit = square(col, position.heights[col]++);
+					if (c == 'R') {
+						position.red |= bit;
+					} else {
+						position.yellow |= bit;
+					}
+					position.moves++;
+				} else {
+					throw new IllegalArgumentException("Invalid square '" + cell + "' at row " + row + ", column " + col);
+				}
+			}
+		}
+		int redCount = Long.bitCount(position.red);
+		int yellowCount = Long.bitCount(position.yellow);
+		if (redCount != yellowCount && redCount != yellowCount + 1) {
+			throw new IllegalArgumentException("Impossible piece counts: " + redCount + " red, " + yellowCount + " yellow");
+		}
+		return position;
+	}
+
+	// Writes the position back in Connect4's String[6][7] form
+	public String[][] toArray() {
+		String[][] board = new String[ROWS][COLUMNS];
+		for (int row = 0; row < ROWS; row++) {
+			for (int col = 0; col < COLUMNS; col++) {
+				long bit = square(col, ROWS - 1 - row);
+				board[row][col] = (red & bit) != 0 ? "R" : (yellow & bit) != 0 ? "Y" : ".";
+			}
+		}
+		return board;
+	}
+
+	public long getRed() {
+		return red;
+	}
+
+	public long getYellow() {
+		return yellow;
+	}
+
+	// Every occupied square
+	public long occupied() {
+		return red | yellow;
+	}
+
+	public int getMoves() {
+		return moves;
+	}
+
+	public int height(int col) {
+		return heights[col];
+	}
+
+	// 'R' or 'Y' for the player to move
+	public char toMove() {
+		return (moves & 1) == 0 ? 'R' : 'Y';
+	}
+
+	// Pieces of the player to move, and of the one who just moved
+	public long current() {
+		return (moves & 1) == 0 ? red : yellow;
+	}
+
+	public long opponent() {
+		return (moves & 1) == 0 ? yellow : red;
+	}
+
+	public boolean canPlay(int col) {
+		return col >= 0 && col < COLUMNS && heights[col] < ROWS;
+	}
+
+	// Columns that can still take a piece, one bit per column
+	public int playableColumns() {
+		int columns = 0;
+		for (int col = 0; col < COLUMNS; col++) {
+			if (heights[col] < ROWS) {
+				columns |= 1 << col;
+			}
+		}
+		return columns;
+	}
+
+	// Squares where the next piece in each non-full column would land
+	public long playableSquares() {
+		return (occupied() + BOTTOM) & BOARD;
+	}
+
+	// Drops a piece for the player to move; the caller checks canPlay first
+	public void play(int col) {
+		long bit = square(col, heights[col]++);
+		if ((moves & 1) == 0) {
+			red |= bit;
+		} else {
+			yellow |= bit;
+		}
+		moves++;
+	}
+
+	// Takes back the last piece played in a column
+	public void undo(int col) {
+		moves--;
+		long bit = square(col, --heights[col]);
+		if ((moves & 1) == 0) {
+			red &= ~bit;
+		} else {
+			yellow &= ~bit;
+		}
+	}
+
+	// True if the pieces contain four in a row in any direction: vertical (shift 1),
+	// horizontal (HEIGHT), and the two diagonals (HEIGHT - 1 and HEIGHT + 1)
+	public static boolean hasFour(long pieces) {
+		long pairs = pieces & (pieces >>> 1);
+		if ((pairs & (pairs >>> 2)) != 0) {
+			return true;
+		}
+		pairs = pieces & (pieces >>> HEIGHT);
+		if ((pairs & (pairs >>> (2 * HEIGHT))) != 0) {
+			return true;
+		}
+		pairs = pieces & (pieces >>> (HEIGHT - 1));
+		if ((pairs & (pairs >>> (2 * (HEIGHT - 1)))) != 0) {
+			return true;
+		}
+		pairs = pieces & (pieces >>> (HEIGHT + 1));
+		return (pairs & (pairs >>> (2 * (HEIGHT + 1)))) != 0;
+	}
+
+	// Empty squares (reachable or not) that would complete four in a row for pieces
+	public static long winningSquares(long pieces, long occupied) {
+		// Vertical: three stacked below
+		long squares = (pieces << 1) & (pieces << 2) & (pieces << 3);
+		squares |= lineSquares(pieces, HEIGHT);
+		squares |= lineSquares(pieces, HEIGHT - 1);
+		squares |= lineSquares(pieces, HEIGHT + 1);
+		return squares & (BOARD ^ occupied);
+	}
+
+	// Squares completing four along one direction: three on one side, or two and one either way
+	private static long lineSquares(long pieces, int shift) {
+		long squares = 0;
+		long pair = (pieces << shift) & (pieces << (2 * shift));
+		squares |= pair & (pieces << (3 * shift));
+		squares |= pair & (pieces >>> shift);
+		pair = (pieces >>> shift) & (pieces >>> (2 * shift));
+		squares |= pair & (pieces << shift);
+		squares |= pair & (pieces >>> (3 * shift));
+		return squares;
+	}
+
+	// True if playing col now would give the player to move four in a row
+	public boolean isWinningMove(int col) {
+		return hasFour(current() | square(col, heights[col]));
+	}
+
+	// 'R' or 'Y' if that player has four in a row, otherwise '.'
+	public char winner() {
+		if (hasFour(red)) {
+			return 'R';
+		}
+		if (hasFour(yellow)) {
+			return 'Y';
+		}
+		return '.';
+	}
+
+	public boolean isFull() {
+		return moves == ROWS * COLUMNS;
+	}
+
+	// Unique for every position: the current player's pieces plus the occupied squares shifted
+	// up by one bit per column
+	public long key() {
+		return current() + occupied() + BOTTOM;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (String[] row : toArray()) {
+			for (String cell : row) {
+				sb.append(cell);
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,174 @@
+/**
+ * BoardRenderer.java
+ * Board output for large N. Draws the same grid as QueensSolver.displayBoard, but each line is
+ * filled into one reusable byte array and written through a single BufferedOutputStream, so no
+ * N x N board and no per-square print calls are needed. Output can go to any stream or straight
+ * to a file. The conflict summary uses per-line occupancy counters, so it is O(N) rather than a
+ * pairwise scan, and names only the most crowded lines.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoardRenderer {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Crowded lines listed in a summary
+    private static final int MAX_REPORTED_LINES = 10;
+
+    // Clash totals for one placement, counted like analyzeConflicts: one per pair of queens
+    // sharing a column, and one per pair sharing either diagonal
+    public static class ConflictSummary {
+        public final long columnConflicts;
+        public final long diagonalConflicts;
+        public final int attackedQueens;
+        public final List<String> crowdedLines;
+
+        ConflictSummary(long columnConflicts, long diagonalConflicts, int attackedQueens, List<String> crowdedLines) {
+            this.columnConflicts = columnConflicts;
+            this.diagonalConflicts = diagonalConflicts;
+            this.attackedQueens = attackedQueens;
+            this.crowdedLines = crowdedLines;
+        }
+
+        public long total() {
+            return columnConflicts + diagonalConflicts;
+        }
+    }
+
+    private BoardRenderer() {
+    }
+
+    // Writes the board to out and flushes it; out is left open
+    public static void render(int[] cols, OutputStream out) throws IOException {
+        int n = cols.length;
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        byte[] line = new byte[2 * n + 3];
+
+        buffered.write('\n');
+        buffered.write("Board representation:\n".getBytes(StandardCharsets.US_ASCII));
+
+        // Column headers
+        line[0] = ' ';
+        line[1] = ' ';
+        for (int col = 0; col < n; col++) {
+            line[2 + 2 * col] = (byte) ('0' + col % 10);
+            line[3 + 2 * col] = ' ';
+        }
+        line[2 + 2 * n] = '\n';
+        buffered.write(line, 0, 2 * n + 3);
+
+        // Border, reused between every row
+        byte[] border = new byte[2 * n + 3];
+        border[0] = ' ';
+        border[1] = '+';
+        for (int col = 0; col < n; col++) {
+            border[2 + 2 * col] = '-';
+            border[3 + 2 * col] = '+';
+        }
+        border[2 + 2 * n] = '\n';
+        buffered.write(border);
+
+        // Every row starts empty; only the queen's square changes and is cleared again afterwards
+        line[1] = '|';
+        for (int col = 0; col < n; col++) {
+            line[2 + 2 * col] = '.';
+            line[3 + 2 * col] = '|';
+        }
+        for (int row = 0; row < n; row++) {
+            int col = cols[row];
+            line[0] = (byte) ('0' + row % 10);
+            line[2 + 2 * col] = 'Q';
+            buffered.write(line);
+            line[2 + 2 * col] = '.';
+            buffered.write(border);
+        }
+        buffered.flush();
+    }
+
+    // Streams the board into a file, replacing it if present
+    public static void render(int[] cols, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            render(cols, out);
+        }
+    }
+
+    // Clash totals from column and diagonal counters in O(N)
+    public static ConflictSummary summarize(int[] cols) {
+        int n = cols.length;
+        int[] colCount = new int[n];
+        int[] diagCount = new int[2 * n - 1];
+        int[] antiDiagCount = new int[2 * n - 1];
+        QueensCore.countClashes(cols, colCount, diagCount, antiDiagCount);
+
+        long columnConflicts = pairs(colCount);
+        long diagonalConflicts = pairs(diagCount) + pairs(antiDiagCount);
+
+        int attacked = 0;
+        for (int row = 0; row < n; row++) {
+            int col = cols[row];
+            if (colCount[col] > 1 || diagCount[row - col + n - 1] > 1 || antiDiagCount[row + col] > 1) {
+                attacked++;
+            }
+        }
+
+        List<String> crowded = new ArrayList<String>();
+        addCrowded(crowded, "Column", colCount, 0);
+        addCrowded(crowded, "Diagonal row-col", diagCount, -(n - 1));
+        addCrowded(crowded, "Anti-diagonal row+col", antiDiagCount, 0);
+        return new ConflictSummary(columnConflicts, diagonalConflicts, attacked, crowded);
+    }
+
+    private static long pairs(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += (long) count * (count - 1) / 2;
+        }
+        return total;
+    }
+
+    private static void addCrowded(List<String> crowded, String label, int[] counts, int offset) {
+        for (int i = 0; i < counts.length && crowded.size() < MAX_REPORTED_LINES; i++) {
+            if (counts[i] > 1) {
+                crowded.add(label + " " + (i + offset) + " holds " + counts[i] + " queens");
+            }
+        }
+    }
+
+    public static void printSummary(ConflictSummary summary, PrintStream out) {
+        out.println("\nConflict Analysis:");
+        for (String line : summary.crowdedLines) {
+            out.println(line);
+        }
+        if (summary.crowdedLines.size() == MAX_REPORTED_LINES) {
+            out.println("(further crowded lines omitted)");
+        }
+        out.println("Queens under attack: " + summary.attackedQueens);
+        out.println("Total column conflicts: " + summary.columnConflicts);
+        out.println("Total diagonal conflicts: " + summary.diagonalConflicts);
+    }
+
+    // java BoardRenderer <size> [output file]: renders the constructive solution, to a file if given
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int[] cols = ConstructiveQueensSolver.solve(n);
+        long start = System.nanoTime();
+        if (args.length > 1) {
+            render(cols, Paths.get(args[1]));
+        } else {
+            render(cols, System.out);
+        }
+        long renderMs = (System.nanoTime() - start) / 1_000_000;
+        printSummary(summarize(cols), System.err);
+        System.err.println("Rendered " + n + " x " + n + " in " + renderMs + " ms");
+    }
+}
@@ -0,0 +1,136 @@
+package Connect4;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BoardStatus.java
+ * The questions valid_board, valid_move, valid_moves and whose_move answer, worked out in one
+ * pass over the 42 squares and without printing. A board is valid under the rules of valid_board:
+ * 6 rows of 7 squares, each "R", "Y" or "." by its first character, and no piece above an empty
+ * square. Invalid boards are described by the first problem found rather than an exception, so
+ * game logs can be checked in a loop.
+ *
+ * Every square is read by its first character, so the answers can be stricter than, or differ
+ * from, the legacy functions, which compare some squares by reference:
+ * - toMove() is 'R' when the counts are equal and 'Y' when red is one piece ahead. Any other
+ *   count is impossible in a game and gives '.'. whose_move answers 'Y' whenever red is ahead,
+ *   by any margin.
+ * - Pieces are counted by first character. whose_move counts only squares that are the literal
+ *   "R" or "Y", so it misses strings built at run time.
+ * - A column is playable when its top square starts with '.'. valid_move needs the literal ".".
+ * BoardStatusTest checks these rules.
+ */
+public final class BoardStatus {
+
+	private final String error;
+	private final int redCount;
+	private final int yellowCount;
+	private final int playableColumns; // one bit per column with room for a piece
+
+	private BoardStatus(String error, int redCount, int yellowCount, int playableColumns) {
+		this.error = error;
+		this.redCount = redCount;
+		this.yellowCount = yellowCount;
+		this.playableColumns = playableColumns;
+	}
+
+	private static BoardStatus invalid(String error) {
+		return new BoardStatus(error, 0, 0, 0);
+	}
+
+	public static BoardStatus of(String[][] board) {
+		if (board == null || board.length != Bitboard.ROWS) {
+			return invalid("Board must have " + Bitboard.ROWS + " rows");
+		}
+		for (int row = 0; row < Bitboard.ROWS; row++) {
+			if (board[row] == null || board[row].length != Bitboard.COLUMNS) {
+				return invalid("Row " + row + " must have " + Bitboard.COLUMNS + " columns");
+			}
+		}
+		int red = 0;
+		int yellow = 0;
+		int playable = 0;
+		for (int col = 0; col < Bitboard.COLUMNS; col++) {
+			boolean gap = false;
+			for (int row = Bitboard.ROWS - 1; row >= 0; row--) {
+				String cell = board[row][col];
+				char c = cell == null || cell.isEmpty() ? '?' : cell.charAt(0);
+				if (c == '.') {
+					gap = true;
+				} else if (c == 'R' || c == 'Y') {
+					if (gap) {
+						return invalid("Floating piece at row " + row + ", column " + col);
+					}
+					if (c == 'R') {
+						red++;
+					} else {
+						yellow++;
+					}
+				} else {
+					return invalid("Invalid square '" + cell + "' at row " + row + ", column " + col);
+				}
+			}
+			if (gap) {
+				playable |= 1 << col;
+			}
+		}
+		return new BoardStatus(null, red, yellow, playable);
+	}
+
+	// valid_board
+	public boolean isValid() {
+		return error == null;
+	}
+
+	// Why the board is invalid, or null if it is valid
+	public String getError() {
+		return error;
+	}
+
+	public int getRedCount() {
+		return redCount;
+	}
+
+	public int getYellowCount() {
+		return yellowCount;
+	}
+
+	// 'R' or 'Y', or '.' if the board is invalid or its piece counts are impossible; see the
+	// class comment for how this differs from whose_move
+	public char toMove() {
+		if (error != null) {
+			return '.';
+		}
+		if (redCount == yellowCount) {
+			return 'R';
+		}
+		return redCount == yellowCount + 1 ? 'Y' : '.';
+	}
+
+	// valid_move, with the top square read by its first character
+	public boolean isValidMove(int column) {
+		return column >= 0 && column < Bitboard.COLUMNS && (playableColumns & (1 << column)) != 0;
+	}
+
+	// One bit per column that valid_move accepts; 0 for an invalid board
+	public int getPlayableColumns() {
+		return playableColumns;
+	}
+
+	// valid_moves: the playable columns as strings, in order
+	public List<String> validMoves() {
+		List<String> moves = new ArrayList<String>();
+		for (int col = 0; col < Bitboard.COLUMNS; col++) {
+			if (isValidMove(col)) {
+				moves.add(Integer.toString(col));
+			}
+		}
+		return moves;
+	}
+
+	@Override
+	public String toString() {
+		return isValid() ? "valid, " + toMove() + " to move, columns " + validMoves() : "invalid: " + error;
+	}
+}
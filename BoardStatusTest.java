@@ -0,0 +1,77 @@
+import java.util.Arrays;
+
+import Connect4.Bitboard;
+import Connect4.BoardStatus;
+
+/**
+ * BoardStatusTest.java
+ * Regression check for Connect4's BoardStatus. It pins the rules in BoardStatus's class comment,
+ * including where they are stricter than the legacy whose_move and valid_move. Reports through
+ * CoderunnerTest's helpers and fails with exit status 1 on any mismatch.
+ */
+public class BoardStatusTest {
+
+    public static void main(String[] args) {
+        String[][] board = empty();
+        BoardStatus status = BoardStatus.of(board);
+        check(status.isValid() && status.toMove() == 'R' && status.getPlayableColumns() == 0x7F,
+                "Empty board: valid, red to move, every column playable");
+
+        board[5][3] = "R";
+        check(BoardStatus.of(board).toMove() == 'Y', "Red one ahead: yellow to move");
+        board[5][4] = "Y";
+        check(BoardStatus.of(board).toMove() == 'R', "Equal counts: red to move");
+        board[5][4] = ".";
+        board[4][3] = "R";
+        status = BoardStatus.of(board);
+        check(status.isValid() && status.toMove() == '.', "Red two ahead: nobody to move (whose_move says 'Y')");
+        board[4][3] = "Y";
+        board[5][4] = "Y";
+        check(BoardStatus.of(board).toMove() == '.', "Yellow ahead: nobody to move");
+
+        board = empty();
+        board[5][0] = new String("R");
+        board[5][1] = "Red";
+        board[0][2] = new String(".");
+        status = BoardStatus.of(board);
+        check(status.getRedCount() == 2 && status.toMove() == '.', "Pieces are counted by first character");
+        check(status.isValidMove(2), "A top square built at run time still counts as empty");
+
+        board = empty();
+        for (int row = 0; row < Bitboard.ROWS; row++) {
+            board[row][6] = (row & 1) == 0 ? "R" : "Y";
+        }
+        status = BoardStatus.of(board);
+        check(!status.isValidMove(6) && status.validMoves().size() == 6 && !status.isValidMove(7),
+                "A full column and a column off the board are not playable");
+
+        board = empty();
+        board[4][1] = "R";
+        status = BoardStatus.of(board);
+        check(!status.isValid() && status.getError().startsWith("Floating piece"), "A floating piece is invalid");
+        board = empty();
+        board[2][2] = "X";
+        status = BoardStatus.of(board);
+        check(!status.isValid() && status.getPlayableColumns() == 0 && status.toMove() == '.',
+                "An unknown square makes the board invalid, with no moves");
+        board = empty();
+        board[0][0] = null;
+        check(!BoardStatus.of(board).isValid(), "A null square is invalid rather than an exception");
+        check(!BoardStatus.of(new String[5][7]).isValid() && !BoardStatus.of(null).isValid(),
+                "A board of the wrong shape is invalid");
+
+        CoderunnerTest.report();
+    }
+
+    private static void check(boolean passed, String description) {
+        CoderunnerTest.check(passed, description);
+    }
+
+    private static String[][] empty() {
+        String[][] board = new String[Bitboard.ROWS][Bitboard.COLUMNS];
+        for (String[] row : board) {
+            Arrays.fill(row, ".");
+        }
+        return board;
+    }
+}
@@ -3,8 +3,13 @@ import java.io.*;
 
 public class CS2004 
 {
-	//Shared random object
-	static private Random rand;
+	//Shared random object (SplittableRandom is not synchronised, unlike Random)
+	static private SplittableRandom rand;
+	//Fix the seed so that a run can be repeated exactly
+	static public void SetSeed(long seed)
+	{
+		rand = new SplittableRandom(seed);
+	}
 	//Create a uniformly distributed random integer between aa and bb inclusive
 	static public int UI(int aa,int bb)
 	{
@@ -12,8 +17,7 @@ public class CS2004
 		int b = Math.max(aa,bb);
 		if (rand == null) 
 		{
-			rand = new Random();
-			rand.setSeed(System.nanoTime());
+			rand = new SplittableRandom(System.nanoTime());
 		}
 		int d = b - a + 1;
 		int x = rand.nextInt(d) + a;
@@ -24,8 +28,7 @@ public class CS2004
 	{
 		if (rand == null) 
 		{
-			rand = new Random();
-			rand.setSeed(System.nanoTime());
+			rand = new SplittableRandom(System.nanoTime());
 		}
 		return((b-a)*rand.nextDouble()+a);
 	}
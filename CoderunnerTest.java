@@ -1,439 +1,239 @@
-import java.util.Random;
-import java.time.Duration;
-import java.time.Instant;
-
-public class ScalableNQueens {
-    
-    private static Random random = new Random();
-    private static int BOARD_SIZE = 8; // Default, now changeable
-    private static int requiredBits;
-    
+import java.util.Arrays;
+
+/**
+ * CoderunnerTest.java
+ * Regression check for QueensCore, the hot path every annealer shares. Each core function is
+ * compared against a plain reference written here from the definitions (pairwise clash count,
+ * bit flip by string, Metropolis rule with Math.exp), a seeded run must still reproduce the
+ * result recorded before the hot path was shared, and the ScalableNQueens and QueensSolver entry
+ * points must return the same result for the same seed. Fails with exit status 1 on any mismatch.
+ */
+public class CoderunnerTest {
+
+    private static final long SEED = 42;
+
+    // Board size, iterations and the solution SA(iterations, false, SEED) returned before the refactor
+    private static final Object[][] GOLDEN = {
+        {8, 2000, "101011001111100110000010"},
+        {12, 20000, "001101100000100101000001101010001111101101110010"},
+        {16, 50000, "0110101101110001110100100101100011111100101000111110000001001001"},
+    };
+
+    private static int failures = 0;
+
     public static void main(String[] args) {
-        // Allow changing board size from command line
-        if (args.length > 0) {
-            try {
-                BOARD_SIZE = Integer.parseInt(args[0]);
-                if (BOARD_SIZE < 4) {
-                    System.out.println("Board size must be at least 4. Using default size 8.");
-                    BOARD_SIZE = 8;
-                }
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid board size. Using default size 8.");
-            }
-        }
-        
-        // Calculate required bits for column representation
-        requiredBits = (int) Math.ceil(Math.log(BOARD_SIZE) / Math.log(2));
-        
-        // Performance benchmarking parameters
-        int[] iterationsToTest = {1000, 5000, 10000, 20000};
-        
-        System.out.println("Solving N-Queens Problem for board size: " + BOARD_SIZE);
-        System.out.println("Maximum possible fitness: " + getMaxFitness());
-        
-        // Benchmark with different iteration counts
-        for (int iterations : iterationsToTest) {
-            runBenchmark(iterations);
-        }
-        
-        // Final run with optimized iterations
-        System.out.println("\n=== FINAL OPTIMIZED RUN ===");
-        int optimizedIterations = BOARD_SIZE * BOARD_SIZE * 150; // Scale iterations with board size
-        runDetailedSolution(optimizedIterations);
-    }
-    
-    private static void runBenchmark(int iterations) {
-        System.out.println("\n--- Testing with " + iterations + " iterations ---");
-        
-        Instant start = Instant.now();
-        String solution = SA(iterations, false); // Run without verbose output
-        Instant end = Instant.now();
-        
-        int fitness = EQ_fitness(solution);
-        long timeMs = Duration.between(start, end).toMillis();
-        double perfScore = (double)fitness / timeMs * 1000; // Performance score: fitness per second
-        
-        System.out.println("Time taken: " + timeMs + " ms");
-        System.out.println("Final fitness: " + fitness + " / " + getMaxFitness());
-        System.out.println("Performance score: " + String.format("%.2f", perfScore) + " fitness/sec");
-        System.out.println("Found perfect solution: " + (fitness == getMaxFitness() ? "Yes" : "No"));
-    }
-    
-    private static void runDetailedSolution(int iterations) {
-        Instant start = Instant.now();
-        String solution = SA(iterations, true); // Run with verbose output
-        Instant end = Instant.now();
-        
-        int fitness = EQ_fitness(solution);
-        long timeMs = Duration.between(start, end).toMillis();
-        
-        System.out.println("\nFinal Solution Stats:");
-        System.out.println("Time taken: " + timeMs + " ms");
-        System.out.println("Iterations: " + iterations);
-        System.out.println("Final fitness: " + fitness + " / " + getMaxFitness());
-        System.out.println("Solution: " + solution);
-        
-        // Display the board
-        displayBoard(solution);
-        
-        // Display conflict metrics if not perfect
-        if (fitness < getMaxFitness()) {
-            analyzeConflicts(solution);
-        }
-    }
-    
-    // Check if character is valid for the board
-    public static boolean valid_char(char c) {
-        return c == '.' || c == 'Q';
-    }
-    
-    // Check if the board is valid
-    public static boolean valid_board(char[][] input_board) {
-        if (input_board == null) {
-            return false;
-        }
-        if (input_board.length != BOARD_SIZE || input_board[0].length != BOARD_SIZE) {
-            return false;
+        for (Object[] golden : GOLDEN) {
+            int size = (Integer) golden[0];
+            int iterations = (Integer) golden[1];
+            QueensSolver.setBoardSize(size);
+            String solution = QueensSolver.SA(iterations, false, SEED);
+            check(solution.equals(golden[2]), "N=" + size + ": seeded SA matches the recorded solution");
+
+            ScalableNQueens.setBoardSize(size);
+            String fromScalable = ScalableNQueens.SA(iterations, false, SEED);
+            check(fromScalable.equals(solution)
+                    && ScalableNQueens.EQ_fitness(fromScalable) == QueensSolver.EQ_fitness(solution),
+                    "N=" + size + ": ScalableNQueens and QueensSolver agree for seed " + SEED);
         }
-        
-        int qCount = 0;
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                char c = input_board[row][col];
-                if (c != '.') {
-                    if (c != 'Q') {
-                        return false;
-                    }
-                    qCount++;
-                } 
+
+        // The core's counter-based fitness must equal the original O(N^2) pairwise count
+        QueensRandom random = new QueensRandom(SEED);
+        boolean fitnessMatches = true;
+        boolean clashesMatch = true;
+        for (int trial = 0; trial < 2000 && fitnessMatches && clashesMatch; trial++) {
+            int size = 4 + random.nextInt(40);
+            int bits = QueensCore.requiredBits(size);
+            String candidate = QueensCore.randomPoint(size, bits, random);
+            fitnessMatches = QueensCore.fitness(candidate, size, bits) == pairwiseFitness(candidate, size, bits);
+            int[] cols = decode(candidate, size, bits);
+            clashesMatch = QueensCore.countClashes(cols) == pairwiseClashes(cols);
+        }
+        check(fitnessMatches, "Core fitness equals the pairwise reference on 2000 random boards");
+        check(clashesMatch, "Core clash count equals the pairwise reference on 2000 random boards");
+
+        // Mutation: the same draw must flip the same bit as flipping a character of the binary form
+        QueensRandom core = new QueensRandom(SEED);
+        QueensRandom reference = new QueensRandom(SEED);
+        boolean mutationMatches = true;
+        for (int trial = 0; trial < 10000 && mutationMatches; trial++) {
+            int size = 4 + trial % 60;
+            int bits = QueensCore.requiredBits(size);
+            int col = trial % size;
+            mutationMatches = QueensCore.mutateColumn(col, size, bits, core)
+                    == referenceMutation(col, size, bits, reference);
+        }
+        check(mutationMatches, "Core mutation equals a bit flip of the binary form");
+
+        // Annealing: replay the core's steps with a full rescore and the textbook acceptance rule
+        for (int size : new int[] {8, 13, 32}) {
+            int bits = QueensCore.requiredBits(size);
+            core = new QueensRandom(SEED + size);
+            reference = new QueensRandom(SEED + size);
+            int[] start = new int[size];
+            QueensCore.randomFill(start, core);
+            int[] expected = start.clone();
+            for (int row = 0; row < size; row++) {
+                reference.nextInt(size); // the draws randomFill made
+            }
+            QueensBoard board = new QueensBoard(start);
+            boolean annealMatches = true;
+            for (int step = 0; step < 5000 && annealMatches; step++) {
+                double temperature = 2.0 / (1 + step / 500);
+                QueensCore.anneal(board, board.fitness(), bits, temperature, core);
+                referenceAnneal(expected, bits, temperature, reference);
+                annealMatches = Arrays.equals(board.columns(), expected)
+                        && board.fitness() == QueensCore.maxFitness(size) - 2 * pairwiseClashes(expected);
             }
+            check(annealMatches, "N=" + size + ": core annealing steps follow the reference Metropolis rule");
         }
-        return qCount == BOARD_SIZE;
+
+        // Column form and binary form score the same board identically
+        QueensSolver.setBoardSize(10);
+        QueensSolver.setSeed(SEED);
+        String candidate = QueensSolver.initial_point();
+        int[] cols = QueensSolver.binaryToColumns(candidate);
+        check(QueensSolver.EQ_fitness(candidate) == QueensSolver.EQ_fitness(cols),
+                "String and int[] fitness agree on " + Arrays.toString(cols));
+
+        // A queen off the board is an invalid solution, like a wrong length
+        int[] offBoard = cols.clone();
+        offBoard[3] = 10;
+        int[] negative = cols.clone();
+        negative[0] = -1;
+        check(QueensSolver.EQ_fitness(offBoard) == 0 && QueensSolver.EQ_fitness(negative) == 0,
+                "Column fitness is 0 for a queen off the board");
+
+        report();
     }
-    
-    // Convert board to binary string representation
-    public static String binary_convert(char[][] input_board) {
-        if (!valid_board(input_board)) {
-            return null;
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            boolean foundQueen = false;
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                if (input_board[row][col] == 'Q') {
-                    String binary = Integer.toBinaryString(col);
-                    String binaryFormat = String.format("%" + requiredBits + "s", binary).replace(" ", "0");
-                    sb.append(binaryFormat);
-                    foundQueen = true;
-                    break;
-                }
-            }
-            // Ensure every row has a queen
-            if (!foundQueen) {
-                return null; // Invalid board - missing queen in a row
-            }
+
+    // Shared with BoardStatusTest: one PASS or FAIL line per check
+    static void check(boolean passed, String description) {
+        System.out.println((passed ? "PASS " : "FAIL ") + description);
+        if (!passed) {
+            failures++;
         }
-        return sb.toString();
     }
-    
-    // Generate a random initial solution
-    public static String initial_point() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            int randomCol = random.nextInt(BOARD_SIZE);
-            String binary = Integer.toBinaryString(randomCol);
-            String binaryFormat = String.format("%" + requiredBits + "s", binary).replace(" ", "0");
-            sb.append(binaryFormat);
+
+    // Prints the outcome and exits with status 1 if any check failed
+    static void report() {
+        System.out.println(failures == 0 ? "All checks passed" : failures + " check(s) failed");
+        if (failures > 0) {
+            System.exit(1);
         }
-        return sb.toString();
     }
-    
-    // Calculate maximum possible fitness
-    public static int getMaxFitness() {
-        // Maximum pairs of queens = n(n-1)/2
-        int maxPairs = BOARD_SIZE * (BOARD_SIZE - 1) / 2;
-        return maxPairs * 2; // Each pair has 2 potential conflict points
+
+    // The original EQ_fitness: parse each column and compare every pair of queens
+    private static int pairwiseFitness(String s, int size, int bits) {
+        return size * (size - 1) - (int) pairwiseClashes(decode(s, size, bits)) * 2;
     }
-    
-    // Calculate the fitness of a solution (higher is better)
-    public static int EQ_fitness(String s) {
-        if (s == null || s.length() != BOARD_SIZE * requiredBits) {
-            return 0; // Invalid solution
-        }
-        
-        int clashes = 0;
-        int[] queenCols = new int[BOARD_SIZE];
-        
-        // Convert binary strings to column positions
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            String colBinary = s.substring(row * requiredBits, (row * requiredBits) + requiredBits);
-            int col = Integer.parseInt(colBinary, 2);
-            
-            // Handle invalid column positions (can happen with bit mutations)
-            if (col >= BOARD_SIZE) {
-                col = col % BOARD_SIZE; // Wrap around to valid position
-            }
-            
-            queenCols[row] = col;
+
+    private static int[] decode(String s, int size, int bits) {
+        int[] queenCols = new int[size];
+        for (int row = 0; row < size; row++) {
+            queenCols[row] = Integer.parseInt(s.substring(row * bits, row * bits + bits), 2) % size;
         }
-        
-        // Check for column and diagonal clashes
-        for (int i = 0; i < BOARD_SIZE - 1; i++) {
-            for (int j = i + 1; j < BOARD_SIZE; j++) {
-                // Column clash
+        return queenCols;
+    }
+
+    private static long pairwiseClashes(int[] queenCols) {
+        long clashes = 0;
+        for (int i = 0; i < queenCols.length - 1; i++) {
+            for (int j = i + 1; j < queenCols.length; j++) {
                 if (queenCols[i] == queenCols[j]) {
                     clashes++;
                 }
-                
-                // Diagonal clash
                 if (Math.abs(i - j) == Math.abs(queenCols[i] - queenCols[j])) {
                     clashes++;
                 }
             }
         }
-        
-        // Maximum number of possible clashes = n(n-1)/2 pairs  2 (counting both potential clash types)
-        return getMaxFitness() - (clashes * 2);
+        return clashes;
     }
-    
-    // Make a small change to a solution (bit flip mutation)
-    public static String small_change(String s) {
-        if (s == null || s.length() < requiredBits) {
-            return initial_point();
+
+    // small_change on one queen's binary digits: flip the drawn bit (0 is the lowest), then wrap
+    private static int referenceMutation(int col, int size, int bits, QueensRandom random) {
+        StringBuilder binary = new StringBuilder(Integer.toBinaryString(col));
+        while (binary.length() < bits) {
+            binary.insert(0, '0');
+        }
+        int position = bits - 1 - random.nextInt(bits);
+        binary.setCharAt(position, binary.charAt(position) == '1' ? '0' : '1');
+        return Integer.parseInt(binary.toString(), 2) % size;
+    }
+
+    // One Metropolis step scored by rescoring the whole board
+    private static void referenceAnneal(int[] cols, int bits, double temperature, QueensRandom random) {
+        int size = cols.length;
+        int row = random.nextInt(size);
+        int newCol = referenceMutation(cols[row], size, bits, random);
+        long before = pairwiseClashes(cols);
+        int oldCol = cols[row];
+        cols[row] = newCol;
+        long after = pairwiseClashes(cols);
+        int delta = (int) (2 * (before - after));
+        double probability = delta > 0 ? 1.0 : Math.exp(delta / temperature);
+        if (!(probability > random.nextDouble())) {
+            cols[row] = oldCol;
         }
-        
-        char[] before = s.toCharArray();
-        
-        // Randomly select which queen (row) to modify
-        int row = random.nextInt(BOARD_SIZE);
-        int bitPosition = (row * requiredBits) + random.nextInt(requiredBits);
-        
-        // Flip the bit
-        before[bitPosition] = (before[bitPosition] == '1') ? '0' : '1';
-        
-        return new String(before);
     }
-    
-    // Simulated annealing algorithm
+}
+
+/**
+ * The original Coderunner entry point, kept for callers that still use its name. It holds no
+ * solver code of its own: every method forwards to QueensSolver, whose hot path is QueensCore.
+ */
+class ScalableNQueens {
+
+    public static void main(String[] args) {
+        // Board size only; QueensSolver's solver-mode and seed arguments are not part of this entry point
+        QueensSolver.main(args.length > 0 ? new String[] {args[0]} : new String[0]);
+    }
+
+    public static void setBoardSize(int size) {
+        QueensSolver.setBoardSize(size);
+    }
+
+    public static boolean valid_char(char c) {
+        return QueensSolver.valid_char(c);
+    }
+
+    public static boolean valid_board(char[][] input_board) {
+        return QueensSolver.valid_board(input_board);
+    }
+
+    public static String binary_convert(char[][] input_board) {
+        return QueensSolver.binary_convert(input_board);
+    }
+
+    public static String initial_point() {
+        return QueensSolver.initial_point();
+    }
+
+    public static int getMaxFitness() {
+        return QueensSolver.getMaxFitness();
+    }
+
+    public static int EQ_fitness(String s) {
+        return QueensSolver.EQ_fitness(s);
+    }
+
+    public static String small_change(String s) {
+        return QueensSolver.small_change(s);
+    }
+
     public static String SA(int iterations, boolean verbose) {
-        // Generate initial solution
-        String currentSolution = initial_point();
-        String bestSolution = currentSolution;
-        int currentFitness = EQ_fitness(currentSolution);
-        int bestFitness = currentFitness;
-        
-        // Parameters for simulated annealing
-        double initialTemp = 100.0;
-        double finalTemp = 0.001;
-        double coolingRate = Math.pow(finalTemp / initialTemp, 1.0 / iterations);
-        double currentTemp = initialTemp;
-        
-        // Number of iterations without improvement before restarting
-        int maxNoImprovement = Math.min(1000, BOARD_SIZE * BOARD_SIZE);
-        int noImprovementCount = 0;
-        
-        // Tracking metrics
-        int restarts = 0;
-        int improvements = 0;
-        int lastPrintedIteration = 0;
-        
-        // Start the simulated annealing process
-        for (int i = 0; i < iterations; i++) {
-            // Generate a neighboring solution
-            String newSolution = small_change(currentSolution);
-            int newFitness = EQ_fitness(newSolution);
-            
-            // Calculate acceptance probability
-            double acceptanceProbability;
-            if (newFitness > currentFitness) {
-                acceptanceProbability = 1.0; // Always accept better solutions
-                improvements++;
-            } else {
-                // For worse solutions, calculate probability based on temperature
-                acceptanceProbability = Math.exp((newFitness - currentFitness) / currentTemp);
-            }
-            
-            // Decide whether to accept the new solution
-            if (acceptanceProbability > random.nextDouble()) {
-                currentSolution = newSolution;
-                currentFitness = newFitness;
-                
-                // Update best solution if current is better
-                if (currentFitness > bestFitness) {
-                    bestSolution = currentSolution;
-                    bestFitness = currentFitness;
-                    noImprovementCount = 0; // Reset counter when we find improvement
-                    
-                    // Early termination if we found a perfect solution (no clashes)
-                    if (bestFitness == getMaxFitness()) {
-                        if (verbose) {
-                            System.out.println("Perfect solution found at iteration " + (i + 1));
-                            System.out.println("Total improvements: " + improvements);
-                            System.out.println("Total restarts: " + restarts);
-                        }
-                        break;
-                    }
-                } else {
-                    noImprovementCount++;
-                }
-            } else {
-                noImprovementCount++;
-            }
-            
-            // Restart from a new random solution if stuck
-            if (noImprovementCount >= maxNoImprovement) {
-                String restartSolution = initial_point();
-                int restartFitness = EQ_fitness(restartSolution);
-                restarts++;
-                
-                // Hill climbing phase to improve the random restart
-                for (int j = 0; j < BOARD_SIZE * 2; j++) {
-                    String neighbor = small_change(restartSolution);
-                    int neighborFitness = EQ_fitness(neighbor);
-                    
-                    if (neighborFitness > restartFitness) {
-                        restartSolution = neighbor;
-                        restartFitness = neighborFitness;
-                    }
-                }
-                
-                currentSolution = restartSolution;
-                currentFitness = restartFitness;
-                noImprovementCount = 0;
-                
-                // If the restart found a better solution, update best
-                if (currentFitness > bestFitness) {
-                    bestSolution = currentSolution;
-                    bestFitness = currentFitness;
-                }
-                
-                if (verbose && (restarts % 5 == 0 || restarts < 5)) {
-                    System.out.println("Restarted at iteration " + (i + 1) + " with fitness " + currentFitness);
-                }
-            }
-            
-            // Cool down temperature
-            currentTemp *= coolingRate;
-            
-            // Print progress periodically
-            if (verbose && (i % (iterations/10) == 0 || i == iterations - 1) && i > lastPrintedIteration) {
-                System.out.println("Iteration " + (i + 1) + 
-                                  ", Temperature: " + String.format("%.6f", currentTemp) + 
-                                  ", Best fitness: " + bestFitness + "/" + getMaxFitness() +
-                                  ", Restarts: " + restarts);
-                lastPrintedIteration = i;
-            }
-        }
-        
-        if (verbose) {
-            System.out.println("Final metrics:");
-            System.out.println("Total improvements: " + improvements);
-            System.out.println("Total restarts: " + restarts);
-            System.out.println("Improvement rate: " + String.format("%.2f", (double)improvements/iterations*100) + "%");
-        }
-        
-        return bestSolution;
+        return QueensSolver.SA(iterations, verbose);
+    }
+
+    public static String SA(int iterations, boolean verbose, long seed) {
+        return QueensSolver.SA(iterations, verbose, seed);
     }
-    
-    // Analyze conflicts in a solution
+
     public static void analyzeConflicts(String solution) {
-        if (solution == null || solution.length() != BOARD_SIZE * requiredBits) {
-            System.out.println("Invalid solution to analyze");
-            return;
-        }
-        
-        int[] queenCols = new int[BOARD_SIZE];
-        
-        // Convert binary strings to column positions
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            String colBinary = solution.substring(row * requiredBits, (row * requiredBits) + requiredBits);
-            int col = Integer.parseInt(colBinary, 2) % BOARD_SIZE;
-            queenCols[row] = col;
-        }
-        
-        int columnConflicts = 0;
-        int diagonalConflicts = 0;
-        
-        System.out.println("\nConflict Analysis:");
-        
-        // Check for column and diagonal clashes
-        for (int i = 0; i < BOARD_SIZE - 1; i++) {
-            for (int j = i + 1; j < BOARD_SIZE; j++) {
-                // Column clash
-                if (queenCols[i] == queenCols[j]) {
-                    columnConflicts++;
-                    System.out.println("Column conflict: Queen at row " + i + " and Queen at row " + j + 
-                                      " (both in column " + queenCols[i] + ")");
-                }
-                
-                // Diagonal clash
-                if (Math.abs(i - j) == Math.abs(queenCols[i] - queenCols[j])) {
-                    diagonalConflicts++;
-                    System.out.println("Diagonal conflict: Queen at (" + i + "," + queenCols[i] + ") and Queen at (" + 
-                                      j + "," + queenCols[j] + ")");
-                }
-            }
-        }
-        
-        System.out.println("Total column conflicts: " + columnConflicts);
-        System.out.println("Total diagonal conflicts: " + diagonalConflicts);
+        QueensSolver.analyzeConflicts(solution);
     }
-    
-    // Display a solution as a chess board
+
     public static void displayBoard(String solution) {
-        if (solution == null || solution.length() != BOARD_SIZE * requiredBits) {
-            System.out.println("Invalid solution to display");
-            return;
-        }
-        
-        char[][] board = new char[BOARD_SIZE][BOARD_SIZE];
-        
-        // Initialize empty board
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                board[row][col] = '.';
-            }
-        }
-        
-        // Place queens
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            String colBinary = solution.substring(row * requiredBits, (row * requiredBits) + requiredBits);
-            int col = Integer.parseInt(colBinary, 2) % BOARD_SIZE; // Handle overflow
-            board[row][col] = 'Q';
-        }
-        
-        // Display the board
-        System.out.println("\nBoard representation:");
-        
-        // Column headers
-        System.out.print("  ");
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            System.out.print(col % 10 + " ");
-        }
-        System.out.println();
-        
-        // Top border
-        System.out.print(" +");
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            System.out.print("-+");
-        }
-        System.out.println();
-        
-        // Board with queens
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            System.out.print(row % 10 + "|");
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                System.out.print(board[row][col] + "|");
-            }
-            System.out.println();
-            
-            // Row separator
-            System.out.print(" +");
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                System.out.print("-+");
-            }
-            System.out.println();
-        }
+        QueensSolver.displayBoard(solution);
     }
-}
\ No newline at end of file
+}
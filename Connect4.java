@@ -130,5 +130,19 @@ public class Connect4 {
 		return '.';
 	}
 	
+	public static BoardStatus board_status(String[][] input_board){ // the checks above in one silent pass, by first character (see BoardStatus)
+		return BoardStatus.of(input_board);
+	}
+	
+	public static int best_move(String[][] input_board, long millis){
+		Bitboard position;
+		try {
+			position = Bitboard.fromArray(input_board);
+		} catch (IllegalArgumentException e) { // not a board any game could reach
+			return -1;
+		}
+		return new Search().bestMove(position, millis).column; // -1 if the game is already over
+	}
+	
 	
 }
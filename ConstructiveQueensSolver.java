@@ -0,0 +1,132 @@
+/**
+ * ConstructiveQueensSolver.java
+ * Closed-form N-Queens placement for every N except 2 and 3, with no search. The queens go on
+ * the even columns and then the odd columns (1-based), with the classic fix-ups when N mod 6 is
+ * 2 or 3. column(n, row) is O(1), so a board can be streamed row by row in linear time and
+ * constant extra memory, and checked with the same line counters QueensBoard uses.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.IntStream;
+
+public class ConstructiveQueensSolver {
+
+    private ConstructiveQueensSolver() {
+    }
+
+    public static boolean hasSolution(int n) {
+        return n == 1 || n >= 4;
+    }
+
+    // 0-based column of the queen in row for the explicit construction
+    public static int column(int n, int row) {
+        if (!hasSolution(n)) {
+            throw new IllegalArgumentException("No solution exists for board size " + n);
+        }
+        if (row < 0 || row >= n) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside board of size " + n);
+        }
+        if (n == 1) {
+            return 0;
+        }
+        int evens = n / 2;
+        int odds = n - evens;
+        int rest = n % 6;
+        int col; // 1-based
+        if (row < evens) {
+            // 2, 4, 6, ...; when N mod 6 == 3 the 2 moves to the end
+            int j = row;
+            if (rest == 3) {
+                col = j == evens - 1 ? 2 : 2 * j + 4;
+            } else {
+                col = 2 * j + 2;
+            }
+        } else {
+            // 1, 3, 5, ...; N mod 6 == 2 swaps 1 and 3 and moves 5 to the end,
+            // N mod 6 == 3 moves 1 and 3 to the end
+            int j = row - evens;
+            if (rest == 2) {
+                if (j == 0) {
+                    col = 3;
+                } else if (j == 1) {
+                    col = 1;
+                } else if (j == odds - 1) {
+                    col = 5;
+                } else {
+                    col = 2 * j + 3;
+                }
+            } else if (rest == 3) {
+                if (j == odds - 2) {
+                    col = 1;
+                } else if (j == odds - 1) {
+                    col = 3;
+                } else {
+                    col = 2 * j + 5;
+                }
+            } else {
+                col = 2 * j + 1;
+            }
+        }
+        return col - 1;
+    }
+
+    // The columns one row at a time, without building an array
+    public static IntStream stream(int n) {
+        if (!hasSolution(n)) {
+            throw new IllegalArgumentException("No solution exists for board size " + n);
+        }
+        return IntStream.range(0, n).map(row -> column(n, row));
+    }
+
+    public static int[] solve(int n) {
+        int[] cols = new int[n];
+        for (int row = 0; row < n; row++) {
+            cols[row] = column(n, row);
+        }
+        return cols;
+    }
+
+    // Clashing pairs of the construction, counted as QueensBoard and EQ_fitness count them;
+    // 0 means the board is a solution
+    public static long clashes(int n) {
+        return QueensCore.countClashes(solve(n));
+    }
+
+    // Writes one column per line as ASCII digits through a small reused buffer, so even
+    // millions of rows need no per-row objects
+    public static void write(int n, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 1 << 16);
+        byte[] digits = new byte[11];
+        for (int row = 0; row < n; row++) {
+            int value = column(n, row);
+            int pos = digits.length;
+            digits[--pos] = '\n';
+            do {
+                digits[--pos] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            buffered.write(digits, pos, digits.length - pos);
+        }
+        buffered.flush();
+    }
+
+    // java ConstructiveQueensSolver <size> [--print]
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        if (!hasSolution(n)) {
+            System.out.println("No solution exists for board size " + n);
+            return;
+        }
+        if (args.length > 1 && args[1].equals("--print")) {
+            write(n, System.out);
+            return;
+        }
+        long start = System.nanoTime();
+        long clashes = clashes(n);
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Constructive placement for board size " + n + ": "
+                + (clashes == 0 ? "valid" : clashes + " clashes") + ", generated and checked in " + timeMs + " ms");
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * CoolingSchedule.java
+ * Temperature control for simulated annealing. A schedule holds no per-run state: the solver
+ * passes in the current temperature, the step count and its measured acceptance ratio, so one
+ * schedule can be shared by any number of concurrent runs. Every schedule works from the
+ * temperature it is given, so a reheat carries through the steps that follow. Constants that
+ * depend on the run length are worked out once per length, not on every step.
+ */
+public interface CoolingSchedule {
+
+    // Temperature at step 0
+    double initialTemperature();
+
+    // Temperature for the step after `step`. acceptanceRatio is a moving average of how often
+    // worsening moves were accepted recently (0..1).
+    double next(double temperature, long step, long totalSteps, double acceptanceRatio);
+
+    // Temperature to continue from when the search has stopped improving. The default lifts
+    // the search back to at least 0.5, where a move adding one clash (-2 fitness) is still
+    // accepted about 2% of the time, without ever cooling it or exceeding the start temperature.
+    default double reheat(double temperature) {
+        return Math.min(initialTemperature(), Math.max(temperature, 0.5));
+    }
+
+    String name();
+
+    // Name and every parameter, exactly enough to tell two schedules apart; checkpoints
+    // store it so a run only resumes under the schedule that wrote it
+    String describe();
+
+    // A per-step constant for one run length. Immutable, so schedules shared between runs
+    // can replace it without locking
+    final class StepConstant {
+        final long totalSteps;
+        final double value;
+
+        StepConstant(long totalSteps, double value) {
+            this.totalSteps = totalSteps;
+            this.value = value;
+        }
+    }
+
+    // T(k+1) = T(k) * r, with r chosen to reach finalTemp on the last step (the QueensSolver.SA schedule)
+    final class Geometric implements CoolingSchedule {
+        private final double initialTemp;
+        private final double finalTemp;
+        private volatile StepConstant ratio;
+
+        public Geometric(double initialTemp, double finalTemp) {
+            checkRange(initialTemp, finalTemp);
+            this.initialTemp = initialTemp;
+            this.finalTemp = finalTemp;
+        }
+
+        public double initialTemperature() {
+            return initialTemp;
+        }
+
+        public double next(double temperature, long step, long totalSteps, double acceptanceRatio) {
+            StepConstant r = ratio;
+            if (r == null || r.totalSteps != totalSteps) {
+                r = new StepConstant(totalSteps, Math.pow(finalTemp / initialTemp, 1.0 / totalSteps));
+                ratio = r;
+            }
+            return temperature * r.value;
+        }
+
+        public String name() {
+            return "geometric";
+        }
+
+        public String describe() {
+            return name() + "(" + initialTemp + ", " + finalTemp + ")";
+        }
+    }
+
+    // Straight line from initialTemp down to finalTemp: the same decrement every step, never
+    // going below finalTemp
+    final class Linear implements CoolingSchedule {
+        private final double initialTemp;
+        private final double finalTemp;
+
+        public Linear(double initialTemp, double finalTemp) {
+            checkRange(initialTemp, finalTemp);
+            this.initialTemp = initialTemp;
+            this.finalTemp = finalTemp;
+        }
+
+        public double initialTemperature() {
+            return initialTemp;
+        }
+
+        public double next(double temperature, long step, long totalSteps, double acceptanceRatio) {
+            return Math.max(finalTemp, temperature - (initialTemp - finalTemp) / totalSteps);
+        }
+
+        public String name() {
+            return "linear";
+        }
+
+        public String describe() {
+            return name() + "(" + initialTemp + ", " + finalTemp + ")";
+        }
+    }
+
+    // T(k) = T0 / ln(k + e): the classic slow schedule with convergence guarantees. Each step
+    // scales the current temperature by ln(k + e) / ln(k + 1 + e), which follows that curve
+    // from T0 and a proportionally raised one after a reheat
+    final class Logarithmic implements CoolingSchedule {
+        private final double initialTemp;
+
+        public Logarithmic(double initialTemp) {
+            checkRange(initialTemp, initialTemp);
+            this.initialTemp = initialTemp;
+        }
+
+        public double initialTemperature() {
+            return initialTemp;
+        }
+
+        public double next(double temperature, long step, long totalSteps, double acceptanceRatio) {
+            return temperature * Math.log(step + Math.E) / Math.log(step + 1 + Math.E);
+        }
+
+        public String name() {
+            return "logarithmic";
+        }
+
+        public String describe() {
+            return name() + "(" + initialTemp + ")";
+        }
+    }
+
+    // Lundy-Mees: T(k+1) = T(k) / (1 + beta * T(k)), with beta chosen to reach finalTemp on the last step
+    final class LundyMees implements CoolingSchedule {
+        private final double initialTemp;
+        private final double finalTemp;
+        private volatile StepConstant beta;
+
+        public LundyMees(double initialTemp, double finalTemp) {
+            checkRange(initialTemp, finalTemp);
+            this.initialTemp = initialTemp;
+            this.finalTemp = finalTemp;
+        }
+
+        public double initialTemperature() {
+            return initialTemp;
+        }
+
+        public double next(double temperature, long step, long totalSteps, double acceptanceRatio) {
+            StepConstant b = beta;
+            if (b == null || b.totalSteps != totalSteps) {
+                b = new StepConstant(totalSteps, (initialTemp - finalTemp) / (totalSteps * initialTemp * finalTemp));
+                beta = b;
+            }
+            return temperature / (1 + b.value * temperature);
+        }
+
+        public String name() {
+            return "lundy-mees";
+        }
+
+        public String describe() {
+            return name() + "(" + initialTemp + ", " + finalTemp + ")";
+        }
+    }
+
+    // Feedback control: nudges the temperature so the acceptance ratio of worsening moves
+    // tracks targetRatio, within [minTemp, initialTemp]
+    final class Adaptive implements CoolingSchedule {
+        private final double initialTemp;
+        private final double minTemp;
+        private final double targetRatio;
+        private final double gain;
+
+        public Adaptive(double initialTemp, double minTemp, double targetRatio, double gain) {
+            checkRange(initialTemp, minTemp);
+            if (targetRatio <= 0 || targetRatio >= 1) {
+                throw new IllegalArgumentException("Target acceptance ratio must be between 0 and 1");
+            }
+            this.initialTemp = initialTemp;
+            this.minTemp = minTemp;
+            this.targetRatio = targetRatio;
+            this.gain = gain;
+        }
+
+        public double initialTemperature() {
+            return initialTemp;
+        }
+
+        public double next(double temperature, long step, long totalSteps, double acceptanceRatio) {
+            double adjusted = temperature * (1 + gain * (targetRatio - acceptanceRatio));
+            return Math.max(minTemp, Math.min(initialTemp, adjusted));
+        }
+
+        // The controller finds its own level again, so a stall only needs a modest kick
+        @Override
+        public double reheat(double temperature) {
+            return Math.min(initialTemp, temperature * 2);
+        }
+
+        public String name() {
+            return "adaptive";
+        }
+
+        public String describe() {
+            return name() + "(" + initialTemp + ", " + minTemp + ", " + targetRatio + ", " + gain + ")";
+        }
+    }
+
+    static void checkRange(double initialTemp, double finalTemp) {
+        if (initialTemp <= 0 || finalTemp <= 0 || finalTemp > initialTemp) {
+            throw new IllegalArgumentException("Temperatures must satisfy 0 < finalTemp <= initialTemp");
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/**
+ * GeneticSolver.java
+ * Genetic algorithm for N-Queens on permutations (one queen per row and per column), so only
+ * diagonal clashes occur, scored on the EQ_fitness scale. Parents are picked by tournament,
+ * recombined with PMX or order crossover and mutated by swapping two rows, the permutation
+ * form of small_change. Each generation is bred and evaluated in parallel: the population is
+ * cut into fixed slices, one per worker, and every worker owns its SplittableRandom and scratch
+ * arrays, so a given seed gives the same result on any number of cores. Workers run on a
+ * shared SolverPools pool, so no threads are started per run. The two population arrays are
+ * allocated once and swapped each generation, so the search creates no garbage.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class GeneticSolver {
+
+    public enum Crossover {
+        // Partially mapped: keeps a segment of one parent and repairs the rest from the other
+        PMX,
+        // Order (OX1): keeps a segment of one parent and fills the rest in the other's order
+        ORDER
+    }
+
+    // Outcome of one solve() call
+    public static class Result {
+        public final int[] columns;
+        public final int fitness;
+        public final int maxFitness;
+        public final int generations;
+        public final long evaluations;
+        public final long timeMs;
+
+        Result(int[] columns, int fitness, int maxFitness, int generations, long evaluations, long timeMs) {
+            this.columns = columns;
+            this.fitness = fitness;
+            this.maxFitness = maxFitness;
+            this.generations = generations;
+            this.evaluations = evaluations;
+            this.timeMs = timeMs;
+        }
+
+        public boolean isSolved() {
+            return fitness == maxFitness;
+        }
+
+        public double evaluationsPerSecond() {
+            return timeMs == 0 ? 0 : evaluations * 1000.0 / timeMs;
+        }
+    }
+
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double MUTATION_RATE = 0.8;
+
+    // Individuals per worker slice; smaller slices are not worth a task each. The slicing
+    // depends only on the population size, never on the core count, to keep runs reproducible
+    private static final int MIN_SLICE = 16;
+    private static final int MAX_SLICES = 64;
+
+    private final int boardSize;
+    private final int populationSize;
+    private final int generations;
+    private final long seed;
+    private final Crossover crossover;
+    private final int parallelism;
+
+    public GeneticSolver(int boardSize, int populationSize, int generations, long seed) {
+        this(boardSize, populationSize, generations, seed, Crossover.PMX, Runtime.getRuntime().availableProcessors());
+    }
+
+    public GeneticSolver(int boardSize, int populationSize, int generations, long seed, Crossover crossover,
+                         int parallelism) {
+        if (boardSize < 4) {
+            throw new IllegalArgumentException("Board size must be at least 4");
+        }
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population must hold at least 2 individuals");
+        }
+        if (generations < 1) {
+            throw new IllegalArgumentException("Generations must be positive");
+        }
+        if (crossover == null) {
+            throw new IllegalArgumentException("A crossover is required");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.boardSize = boardSize;
+        this.populationSize = populationSize;
+        this.generations = generations;
+        this.seed = seed;
+        this.crossover = crossover;
+        this.parallelism = parallelism;
+    }
+
+    public Result solve() {
+        int n = boardSize;
+        int maxFitness = QueensCore.maxFitness(n);
+        long start = System.nanoTime();
+
+        int[][] population = new int[populationSize][n];
+        int[][] offspring = new int[populationSize][n];
+        int[] fitness = new int[populationSize];
+        int[] offspringFitness = new int[populationSize];
+
+        // Slot 0 always carries the best individual over, so workers fill 1..populationSize-1
+        int slices = Math.max(1, Math.min(MAX_SLICES, (populationSize - 1) / MIN_SLICE));
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Worker> workers = new ArrayList<Worker>();
+        for (int s = 0; s < slices; s++) {
+            int from = 1 + (int) ((long) (populationSize - 1) * s / slices);
+            int to = 1 + (int) ((long) (populationSize - 1) * (s + 1) / slices);
+            workers.add(new Worker(root.split(), from, to));
+        }
+
+        ForkJoinPool pool = SolverPools.get(Math.min(parallelism, slices));
+
+        // Random permutations, evaluated in parallel like every later generation
+        SplittableRandom rng = root.split();
+        randomPermutation(population[0], rng);
+        fitness[0] = QueensCore.fitness(population[0]);
+        for (Worker worker : workers) {
+            worker.prepare(null, null, population, fitness);
+        }
+        runAll(pool, workers);
+
+        int best = fittest(fitness);
+        long evaluations = populationSize;
+        int generation = 0;
+        while (fitness[best] < maxFitness && generation < generations) {
+            System.arraycopy(population[best], 0, offspring[0], 0, n);
+            offspringFitness[0] = fitness[best];
+            for (Worker worker : workers) {
+                worker.prepare(population, fitness, offspring, offspringFitness);
+            }
+            runAll(pool, workers);
+
+            int[][] swapPopulation = population;
+            population = offspring;
+            offspring = swapPopulation;
+            int[] swapFitness = fitness;
+            fitness = offspringFitness;
+            offspringFitness = swapFitness;
+
+            best = fittest(fitness);
+            evaluations += populationSize - 1;
+            generation++;
+        }
+
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        return new Result(population[best].clone(), fitness[best], maxFitness, generation, evaluations, timeMs);
+    }
+
+    private static void runAll(ForkJoinPool pool, List<Worker> workers) {
+        try {
+            for (Future<Void> done : pool.invokeAll(workers)) {
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while breeding", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Breeding failed", e.getCause());
+        }
+    }
+
+    private static int fittest(int[] fitness) {
+        int best = 0;
+        for (int i = 1; i < fitness.length; i++) {
+            if (fitness[i] > fitness[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // EQ_fitness on reused counters; a permutation never clashes on a column
+    private int evaluate(int[] cols, int[] colCount, int[] diagCount, int[] antiDiagCount) {
+        Arrays.fill(colCount, 0);
+        Arrays.fill(diagCount, 0);
+        Arrays.fill(antiDiagCount, 0);
+        long clashes = QueensCore.countClashes(cols, colCount, diagCount, antiDiagCount);
+        return QueensCore.maxFitness(boardSize) - (int) (2 * clashes);
+    }
+
+    private void randomPermutation(int[] cols, SplittableRandom rng) {
+        for (int i = 0; i < cols.length; i++) {
+            cols[i] = i;
+        }
+        for (int i = cols.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = cols[i];
+            cols[i] = cols[j];
+            cols[j] = tmp;
+        }
+    }
+
+    // Breeds (or, with no parents, randomly creates) one slice of the next population. All
+    // scratch space is allocated once per solve.
+    private final class Worker implements Callable<Void> {
+        private final SplittableRandom rng;
+        private final int from;
+        private final int to;
+        private final int[] colCount = new int[boardSize];
+        private final int[] diagCount = new int[2 * boardSize - 1];
+        private final int[] antiDiagCount = new int[2 * boardSize - 1];
+        private final int[] position = new int[boardSize];
+        private final int[] stamp = new int[boardSize];
+        private int stampValue;
+
+        private int[][] parents;
+        private int[] parentFitness;
+        private int[][] children;
+        private int[] childFitness;
+
+        Worker(SplittableRandom rng, int from, int to) {
+            this.rng = rng;
+            this.from = from;
+            this.to = to;
+        }
+
+        void prepare(int[][] parents, int[] parentFitness, int[][] children, int[] childFitness) {
+            this.parents = parents;
+            this.parentFitness = parentFitness;
+            this.children = children;
+            this.childFitness = childFitness;
+        }
+
+        @Override
+        public Void call() {
+            for (int i = from; i < to; i++) {
+                int[] child = children[i];
+                if (parents == null) {
+                    randomPermutation(child, rng);
+                } else {
+                    int[] first = parents[tournament()];
+                    int[] second = parents[tournament()];
+                    if (crossover == Crossover.PMX) {
+                        pmx(first, second, child);
+                    } else {
+                        orderCrossover(first, second, child);
+                    }
+                    if (rng.nextDouble() < MUTATION_RATE) {
+                        int a = rng.nextInt(boardSize);
+                        int b = rng.nextInt(boardSize);
+                        int tmp = child[a];
+                        child[a] = child[b];
+                        child[b] = tmp;
+                    }
+                }
+                childFitness[i] = evaluate(child, colCount, diagCount, antiDiagCount);
+            }
+            return null;
+        }
+
+        private int tournament() {
+            int best = rng.nextInt(populationSize);
+            for (int k = 1; k < TOURNAMENT_SIZE; k++) {
+                int other = rng.nextInt(populationSize);
+                if (parentFitness[other] > parentFitness[best]) {
+                    best = other;
+                }
+            }
+            return best;
+        }
+
+        // Child starts as the second parent; each column of the first parent's segment is then
+        // swapped into place, which keeps the child a permutation
+        private void pmx(int[] first, int[] second, int[] child) {
+            int n = boardSize;
+            int a = rng.nextInt(n);
+            int b = rng.nextInt(n);
+            if (a > b) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            System.arraycopy(second, 0, child, 0, n);
+            for (int row = 0; row < n; row++) {
+                position[child[row]] = row;
+            }
+            for (int row = a; row <= b; row++) {
+                int col = first[row];
+                int at = position[col];
+                int displaced = child[row];
+                child[row] = col;
+                child[at] = displaced;
+                position[col] = row;
+                position[displaced] = at;
+            }
+        }
+
+        // Copies the first parent's segment, then fills the other rows with the remaining
+        // columns in the order they appear in the second parent, starting after the segment
+        private void orderCrossover(int[] first, int[] second, int[] child) {
+            int n = boardSize;
+            int a = rng.nextInt(n);
+            int b = rng.nextInt(n);
+            if (a > b) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            // A fresh stamp marks used columns without clearing the array
+            if (++stampValue == 0) {
+                Arrays.fill(stamp, 0);
+                stampValue = 1;
+            }
+            for (int row = a; row <= b; row++) {
+                child[row] = first[row];
+                stamp[first[row]] = stampValue;
+            }
+            int write = (b + 1) % n;
+            for (int k = 0; k < n; k++) {
+                int col = second[(b + 1 + k) % n];
+                if (stamp[col] != stampValue) {
+                    child[write] = col;
+                    write = (write + 1) % n;
+                }
+            }
+        }
+    }
+
+    // Compare GA throughput and time-to-solution against swap-neighbourhood SA on the same sizes
+    public static void main(String[] args) {
+        int[] sizes = {8, 16, 32, 64};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int size : sizes) {
+            for (Crossover crossover : Crossover.values()) {
+                Result ga = new GeneticSolver(size, 256, 5000, size, crossover, cores).solve();
+                System.out.println("N=" + size + " GA " + crossover + ": fitness " + ga.fitness + " / " + ga.maxFitness
+                        + ", generations " + ga.generations + ", evaluations " + ga.evaluations
+                        + ", " + ga.timeMs + " ms, " + String.format("%.0f", ga.evaluationsPerSecond()) + " evals/s"
+                        + (ga.isSolved() ? " (solved)" : ""));
+            }
+            NQueensSolver sa = new NQueensSolver(size, size, NQueensSolver.defaultIterations(size),
+                    new CoolingSchedule.Geometric(100.0, 0.001), NQueensSolver.Neighbourhood.SWAP);
+            NQueensSolver.Result result = sa.solve();
+            double saRate = result.timeMs == 0 ? 0 : result.iterations * 1000.0 / result.timeMs;
+            System.out.println("N=" + size + " SA SWAP: fitness " + result.fitness + " / " + result.maxFitness
+                    + ", evaluations " + result.iterations + ", " + result.timeMs + " ms, "
+                    + String.format("%.0f", saRate) + " evals/s" + (result.isSolved() ? " (solved)" : ""));
+        }
+    }
+}
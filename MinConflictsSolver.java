@@ -0,0 +1,147 @@
+/**
+ * MinConflictsSolver.java
+ * Min-conflicts local search for N-Queens on a permutation (every column used exactly once),
+ * so only diagonal clashes remain. A greedy randomised start leaves only a handful of attacked
+ * queens, which are then repaired by conflict-reducing swaps scored in O(1) by QueensBoard.
+ * Scales to millions of queens where the bit-flip SA cannot.
+ */
+
+import java.util.SplittableRandom;
+
+public class MinConflictsSolver {
+
+    // Rows left to random placement at the end of the greedy start
+    private static final int RANDOM_TAIL = 32;
+
+    private final int boardSize;
+    private final long seed;
+    private final long maxSteps;
+
+    private long steps;
+    private long swaps;
+    private int rescans;
+    private int restarts;
+
+    public MinConflictsSolver(int boardSize, long seed, long maxSteps) {
+        if (boardSize < 4) {
+            throw new IllegalArgumentException("Board size must be at least 4");
+        }
+        this.boardSize = boardSize;
+        this.seed = seed;
+        this.maxSteps = maxSteps;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public int getRescans() {
+        return rescans;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    // Returns the best board reached; isSolved() tells whether it is conflict free
+    public QueensBoard solve() {
+        SplittableRandom rng = new SplittableRandom(seed);
+        QueensBoard board = new QueensBoard(greedyPermutation(rng));
+        steps = 0;
+        swaps = 0;
+        rescans = 0;
+        restarts = 0;
+
+        int[] conflicted = new int[boardSize];
+        while (!board.isSolved() && steps < maxSteps) {
+            // Collect the attacked rows in one O(N) pass; there are few of them after the greedy start
+            int count = 0;
+            for (int row = 0; row < boardSize; row++) {
+                if (board.conflictsAt(row) > 0) {
+                    conflicted[count++] = row;
+                }
+            }
+            rescans++;
+
+            // Try up to boardSize random partners per attacked queen, taking the first swap
+            // that lowers the clash count
+            long swapsBefore = swaps;
+            for (int k = 0; k < count && !board.isSolved() && steps < maxSteps; k++) {
+                int row = conflicted[k];
+                for (int tries = 0; tries < boardSize && board.conflictsAt(row) > 0 && steps < maxSteps; tries++) {
+                    int other = rng.nextInt(boardSize);
+                    steps++;
+                    if (other != row && board.swapDelta(row, other) < 0) {
+                        board.swap(row, other);
+                        swaps++;
+                        break;
+                    }
+                }
+            }
+
+            // A whole pass without an improving swap is a local minimum: start again
+            if (swaps == swapsBefore && !board.isSolved()) {
+                board.load(greedyPermutation(rng));
+                restarts++;
+            }
+        }
+        return board;
+    }
+
+    // Randomised greedy start: place rows in order, drawing each column from the unused ones
+    // and keeping it only if no earlier queen shares a diagonal, within a fixed attempt budget
+    private int[] greedyPermutation(SplittableRandom rng) {
+        int n = boardSize;
+        int[] cols = new int[n];
+        for (int i = 0; i < n; i++) {
+            cols[i] = i;
+        }
+        boolean[] diag = new boolean[2 * n - 1];
+        boolean[] antiDiag = new boolean[2 * n - 1];
+
+        long attempts = 0;
+        long attemptBudget = (long) (3.08 * n);
+        int row = 0;
+        while (row < n - RANDOM_TAIL && attempts < attemptBudget) {
+            int j = row + rng.nextInt(n - row);
+            attempts++;
+            int col = cols[j];
+            if (!diag[row - col + n - 1] && !antiDiag[row + col]) {
+                cols[j] = cols[row];
+                cols[row] = col;
+                diag[row - col + n - 1] = true;
+                antiDiag[row + col] = true;
+                row++;
+            }
+        }
+
+        // Shuffle the remaining columns into the remaining rows
+        for (int i = row; i < n - 1; i++) {
+            int j = i + rng.nextInt(n - i);
+            int tmp = cols[i];
+            cols[i] = cols[j];
+            cols[j] = tmp;
+        }
+        return cols;
+    }
+
+    public static void main(String[] args) {
+        int boardSize = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        MinConflictsSolver solver = new MinConflictsSolver(boardSize, seed, 100L * boardSize);
+        long start = System.nanoTime();
+        QueensBoard board = solver.solve();
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Min-conflicts for board size " + boardSize + " (seed " + seed + ")");
+        System.out.println("Solved: " + (board.isSolved() ? "Yes" : "No") + " (" + board.clashes() + " clashes)");
+        System.out.println("Repair steps: " + solver.getSteps() + ", swaps: " + solver.getSwaps()
+                + ", rescans: " + solver.getRescans() + ", restarts: " + solver.getRestarts());
+        System.out.println("Time taken: " + timeMs + " ms");
+    }
+}
@@ -0,0 +1,336 @@
+/**
+ * NQueensSolver.java
+ * Instance-based simulated annealing for N-Queens with a pluggable CoolingSchedule. Unlike
+ * QueensSolver, which keeps the board size and random generator in mutable statics, every
+ * setting lives in final fields and all search state is created inside solve(), so one instance
+ * (or many instances of different sizes) can be used from any number of threads at once.
+ * Long runs can be checkpointed to disk and resumed on exactly the same trajectory.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class NQueensSolver {
+
+    // How a candidate is changed each step
+    public enum Neighbourhood {
+        // Flip one bit of one queen's column, as QueensSolver.small_change does
+        BIT_FLIP,
+        // Exchange the columns of two queens; starting from a permutation this keeps every
+        // column occupied exactly once, so only diagonal clashes are ever searched over
+        SWAP
+    }
+
+    // Outcome of one solve() call
+    public static class Result {
+        public final int[] columns;
+        public final int fitness;
+        public final int maxFitness;
+        public final long iterations;
+        public final int reheats;
+        public final int improvements;
+        public final long timeMs;
+
+        Result(int[] columns, int fitness, int maxFitness, long iterations, int reheats, int improvements, long timeMs) {
+            this.columns = columns;
+            this.fitness = fitness;
+            this.maxFitness = maxFitness;
+            this.iterations = iterations;
+            this.reheats = reheats;
+            this.improvements = improvements;
+            this.timeMs = timeMs;
+        }
+
+        public boolean isSolved() {
+            return fitness == maxFitness;
+        }
+
+        // Same binary String encoding as QueensSolver, for display and comparison
+        public String toBinary() {
+            int n = columns.length;
+            int bits = QueensCore.requiredBits(n);
+            char[] out = new char[n * bits];
+            for (int row = 0; row < n; row++) {
+                for (int bit = 0; bit < bits; bit++) {
+                    out[row * bits + bit] = ((columns[row] >> (bits - 1 - bit)) & 1) == 1 ? '1' : '0';
+                }
+            }
+            return new String(out);
+        }
+    }
+
+    private final int boardSize;
+    private final int requiredBits;
+    private final long seed;
+    private final int iterations;
+    private final CoolingSchedule schedule;
+    private final Neighbourhood neighbourhood;
+
+    // Weight of the latest move in the moving average of the acceptance ratio
+    private static final double RATIO_SMOOTHING = 0.01;
+
+    // Uses the QueensSolver.SA defaults of cooling geometrically from 100 to 0.001
+    public NQueensSolver(int boardSize, long seed, int iterations) {
+        this(boardSize, seed, iterations, new CoolingSchedule.Geometric(100.0, 0.001));
+    }
+
+    public NQueensSolver(int boardSize, long seed, int iterations, double initialTemp, double finalTemp) {
+        this(boardSize, seed, iterations, new CoolingSchedule.Geometric(initialTemp, finalTemp));
+    }
+
+    public NQueensSolver(int boardSize, long seed, int iterations, CoolingSchedule schedule) {
+        this(boardSize, seed, iterations, schedule, Neighbourhood.BIT_FLIP);
+    }
+
+    public NQueensSolver(int boardSize, long seed, int iterations, CoolingSchedule schedule, Neighbourhood neighbourhood) {
+        if (boardSize < 4) {
+            throw new IllegalArgumentException("Board size must be at least 4");
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        if (schedule == null) {
+            throw new IllegalArgumentException("A cooling schedule is required");
+        }
+        if (neighbourhood == null) {
+            throw new IllegalArgumentException("A neighbourhood is required");
+        }
+        this.boardSize = boardSize;
+        this.requiredBits = QueensCore.requiredBits(boardSize);
+        this.seed = seed;
+        this.iterations = iterations;
+        this.schedule = schedule;
+        this.neighbourhood = neighbourhood;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public CoolingSchedule getSchedule() {
+        return schedule;
+    }
+
+    public Neighbourhood getNeighbourhood() {
+        return neighbourhood;
+    }
+
+    // Run one annealing search. All state is local, so concurrent calls never interfere and
+    // the same seed always gives the same result.
+    public Result solve() {
+        try {
+            return run(null, null, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // unreachable: nothing is written without a checkpoint file
+        }
+    }
+
+    // As solve(), additionally snapshotting the run to checkpointFile every checkpointInterval steps
+    public Result solve(Path checkpointFile, long checkpointInterval) throws IOException {
+        checkInterval(checkpointInterval);
+        return run(null, checkpointFile, checkpointInterval);
+    }
+
+    // Continue a run from checkpointFile, carrying on exactly as the original run would have,
+    // and keep checkpointing to the same file
+    public Result resume(Path checkpointFile, long checkpointInterval) throws IOException {
+        checkInterval(checkpointInterval);
+        QueensCheckpoint checkpoint = QueensCheckpoint.read(checkpointFile);
+        if (checkpoint.boardSize != boardSize || checkpoint.seed != seed || checkpoint.iterations != iterations
+                || checkpoint.neighbourhood != neighbourhood.ordinal() || !checkpoint.schedule.equals(schedule.describe())) {
+            throw new IllegalArgumentException("Checkpoint " + checkpointFile + " was written by a solver with different settings"
+                    + " (schedule " + checkpoint.schedule + ", this solver " + schedule.describe() + ")");
+        }
+        return run(checkpoint, checkpointFile, checkpointInterval);
+    }
+
+    private static void checkInterval(long checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1 step");
+        }
+    }
+
+    private Result run(QueensCheckpoint checkpoint, Path checkpointFile, long checkpointInterval) throws IOException {
+        long start = System.nanoTime();
+        int maxFitness = QueensCore.maxFitness(boardSize);
+        int maxNoImprovement = Math.min(1000, boardSize * boardSize);
+
+        QueensRandom rng;
+        QueensBoard board;
+        int[] best;
+        int bestFitness;
+        double currentTemp;
+        double acceptanceRatio;
+        int noImprovementCount;
+        int reheats;
+        int improvements;
+        long i;
+        long elapsedBefore;
+
+        if (checkpoint == null) {
+            rng = new QueensRandom(seed);
+            int[] initial = new int[boardSize];
+            if (neighbourhood == Neighbourhood.SWAP) {
+                randomPermutation(initial, rng);
+            } else {
+                QueensCore.randomFill(initial, rng);
+            }
+            board = new QueensBoard(initial);
+            best = board.columns();
+            bestFitness = board.fitness();
+            currentTemp = schedule.initialTemperature();
+            acceptanceRatio = 0.5;
+            noImprovementCount = 0;
+            reheats = 0;
+            improvements = 0;
+            i = 0;
+            elapsedBefore = 0;
+        } else {
+            rng = new QueensRandom(0);
+            rng.setState(checkpoint.randomState);
+            board = new QueensBoard(checkpoint.current);
+            best = checkpoint.best.clone();
+            bestFitness = checkpoint.bestFitness;
+            currentTemp = checkpoint.temperature;
+            acceptanceRatio = checkpoint.acceptanceRatio;
+            noImprovementCount = checkpoint.noImprovementCount;
+            reheats = checkpoint.reheats;
+            improvements = checkpoint.improvements;
+            i = checkpoint.step;
+            elapsedBefore = checkpoint.elapsedNanos;
+        }
+        int currentFitness = board.fitness();
+        long nextCheckpoint = checkpointFile == null ? Long.MAX_VALUE : i + checkpointInterval;
+
+        while (i < iterations && bestFitness != maxFitness) {
+            i++;
+            // The move is scored in O(1) and only applied if accepted
+            boolean accepted = neighbourhood == Neighbourhood.SWAP
+                    ? QueensCore.annealSwap(board, currentFitness, currentTemp, rng)
+                    : QueensCore.anneal(board, currentFitness, requiredBits, currentTemp, rng);
+            int newFitness = accepted ? board.fitness() : currentFitness;
+            if (newFitness > currentFitness) {
+                improvements++; // improving moves are always accepted
+            } else {
+                acceptanceRatio += RATIO_SMOOTHING * ((accepted ? 1.0 : 0.0) - acceptanceRatio);
+            }
+
+            if (accepted) {
+                currentFitness = newFitness;
+
+                if (currentFitness > bestFitness) {
+                    board.copyColumnsTo(best);
+                    bestFitness = currentFitness;
+                    noImprovementCount = 0;
+                } else {
+                    noImprovementCount++;
+                }
+            } else {
+                noImprovementCount++;
+            }
+
+            // Reheat rather than throwing the current state away when the search stalls
+            if (noImprovementCount >= maxNoImprovement) {
+                currentTemp = schedule.reheat(currentTemp);
+                noImprovementCount = 0;
+                reheats++;
+            } else {
+                currentTemp = schedule.next(currentTemp, i - 1, iterations, acceptanceRatio);
+            }
+
+            if (i == nextCheckpoint) {
+                new QueensCheckpoint(boardSize, seed, iterations, neighbourhood.ordinal(), schedule.describe(),
+                        i, currentTemp, acceptanceRatio, noImprovementCount, reheats, improvements, bestFitness,
+                        rng.getState(), elapsedBefore + System.nanoTime() - start, board.columns(), best)
+                        .write(checkpointFile);
+                nextCheckpoint += checkpointInterval;
+            }
+        }
+
+        long timeMs = (elapsedBefore + System.nanoTime() - start) / 1_000_000;
+        return new Result(best, bestFitness, maxFitness, i, reheats, improvements, timeMs);
+    }
+
+    // Fisher-Yates shuffle of 0..n-1
+    private void randomPermutation(int[] cols, QueensRandom rng) {
+        for (int row = 0; row < boardSize; row++) {
+            cols[row] = row;
+        }
+        for (int row = boardSize - 1; row > 0; row--) {
+            int other = rng.nextInt(row + 1);
+            int tmp = cols[row];
+            cols[row] = cols[other];
+            cols[other] = tmp;
+        }
+    }
+
+    // The usual budget of 150 steps per square, clamped so that it stays positive once
+    // 150 * N^2 no longer fits in an int (N above about 3780)
+    public static int defaultIterations(int boardSize) {
+        return (int) Math.min(Integer.MAX_VALUE, 150L * boardSize * boardSize);
+    }
+
+    private static void runCheckpointed(Path file, int size, long seed) throws IOException {
+        NQueensSolver solver = new NQueensSolver(size, seed, defaultIterations(size));
+        long interval = 1_000_000;
+        Result result;
+        if (Files.exists(file)) {
+            System.out.println("Resuming from " + file + " at step " + QueensCheckpoint.read(file).step);
+            result = solver.resume(file, interval);
+        } else {
+            result = solver.solve(file, interval);
+        }
+        System.out.println("N=" + size + ": fitness " + result.fitness + " / " + result.maxFitness
+                + ", iterations " + result.iterations + ", " + result.timeMs + " ms" + (result.isSolved() ? " (solved)" : ""));
+    }
+
+    // Solve several board sizes concurrently in one JVM from a shared thread pool, or with
+    // "--checkpoint <file> <size> [seed]" run one long search that resumes from file if present
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 3 && args[0].equals("--checkpoint")) {
+            runCheckpointed(Paths.get(args[1]), Integer.parseInt(args[2]), args.length > 3 ? Long.parseLong(args[3]) : 1);
+            return;
+        }
+
+        int[] sizes = {8, 10, 12, 16, 20, 24, 32};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<Result>> futures = new ArrayList<Future<Result>>();
+            for (int size : sizes) {
+                NQueensSolver solver = new NQueensSolver(size, size, defaultIterations(size));
+                futures.add(pool.submit(() -> solver.solve()));
+            }
+            for (int k = 0; k < sizes.length; k++) {
+                Result result = futures.get(k).get();
+                System.out.println("N=" + sizes[k] + ": fitness " + result.fitness + " / " + result.maxFitness
+                        + ", iterations " + result.iterations + ", reheats " + result.reheats
+                        + ", " + result.timeMs + " ms" + (result.isSolved() ? " (solved)" : ""));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * ParallelQueensSolver.java
+ * Multi-start simulated annealing for N-Queens. Independent chains run on a ForkJoinPool,
+ * each with its own QueensRandom (seeded from one SplittableRandom) and QueensBoard, and share
+ * the global best through atomics. Each step is QueensCore.anneal, as in QueensSolver.SA_cols.
+ * As soon as one chain reaches the maximum fitness every other chain stops.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelQueensSolver {
+
+    // Statistics for one annealing chain
+    public static class ChainStats {
+        public final int chain;
+        public final long iterations;
+        public final int bestFitness;
+        public final int restarts;
+        public final long timeMs;
+        public final boolean solved;
+
+        ChainStats(int chain, long iterations, int bestFitness, int restarts, long timeMs, boolean solved) {
+            this.chain = chain;
+            this.iterations = iterations;
+            this.bestFitness = bestFitness;
+            this.restarts = restarts;
+            this.timeMs = timeMs;
+            this.solved = solved;
+        }
+
+        @Override
+        public String toString() {
+            return "Chain " + chain + ": iterations=" + iterations + ", best=" + bestFitness
+                    + ", restarts=" + restarts + ", time=" + timeMs + " ms" + (solved ? " (solved)" : "");
+        }
+    }
+
+    // Outcome of a parallel run
+    public static class Result {
+        public final int[] best;
+        public final int bestFitness;
+        public final int maxFitness;
+        public final long timeMs;
+        public final List<ChainStats> chains;
+
+        Result(int[] best, int bestFitness, int maxFitness, long timeMs, List<ChainStats> chains) {
+            this.best = best;
+            this.bestFitness = bestFitness;
+            this.maxFitness = maxFitness;
+            this.timeMs = timeMs;
+            this.chains = chains;
+        }
+
+        public boolean isSolved() {
+            return bestFitness == maxFitness;
+        }
+
+        public long totalIterations() {
+            long total = 0;
+            for (ChainStats stats : chains) {
+                total += stats.iterations;
+            }
+            return total;
+        }
+    }
+
+    // Immutable snapshot of the best placement seen by any chain
+    private static final class Best {
+        final int fitness;
+        final int[] cols;
+
+        Best(int fitness, int[] cols) {
+            this.fitness = fitness;
+            this.cols = cols;
+        }
+    }
+
+    private final int boardSize;
+    private final int requiredBits;
+    private final int chains;
+    private final int iterations;
+    private final long seed;
+
+    public ParallelQueensSolver(int boardSize, int chains, int iterations, long seed) {
+        if (boardSize < 4) {
+            throw new IllegalArgumentException("Board size must be at least 4");
+        }
+        if (chains < 1) {
+            throw new IllegalArgumentException("At least one chain is required");
+        }
+        this.boardSize = boardSize;
+        this.requiredBits = QueensCore.requiredBits(boardSize);
+        this.chains = chains;
+        this.iterations = iterations;
+        this.seed = seed;
+    }
+
+    public Result solve() {
+        final int maxFitness = QueensCore.maxFitness(boardSize);
+        final AtomicBoolean solved = new AtomicBoolean(false);
+        final AtomicReference<Best> globalBest = new AtomicReference<Best>(new Best(Integer.MIN_VALUE, null));
+        final ChainStats[] stats = new ChainStats[chains];
+
+        SplittableRandom root = new SplittableRandom(seed);
+        long start = System.nanoTime();
+
+        ForkJoinPool pool = SolverPools.get(Math.min(chains, Runtime.getRuntime().availableProcessors()));
+        List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        for (int c = 0; c < chains; c++) {
+            final int chain = c;
+            final QueensRandom rng = new QueensRandom(root.nextLong());
+            tasks.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    stats[chain] = runChain(chain, rng, maxFitness, solved, globalBest);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        List<ChainStats> chainStats = new ArrayList<ChainStats>();
+        for (ChainStats s : stats) {
+            chainStats.add(s);
+        }
+        Best best = globalBest.get();
+        return new Result(best.cols, best.fitness, maxFitness, timeMs, chainStats);
+    }
+
+    // One annealing chain, using the same schedule and restart rule as QueensSolver.SA_cols
+    private ChainStats runChain(int chain, QueensRandom rng, int maxFitness, AtomicBoolean solved,
+                                AtomicReference<Best> globalBest) {
+        long start = System.nanoTime();
+        int[] scratch = new int[boardSize];
+        QueensCore.randomFill(scratch, rng);
+        QueensBoard board = new QueensBoard(scratch);
+        int currentFitness = board.fitness();
+        int bestFitness = currentFitness;
+        publish(board, bestFitness, maxFitness, solved, globalBest);
+
+        double initialTemp = 100.0;
+        double finalTemp = 0.001;
+        double coolingRate = Math.pow(finalTemp / initialTemp, 1.0 / iterations);
+        double currentTemp = initialTemp;
+
+        int maxNoImprovement = Math.min(1000, boardSize * boardSize);
+        int noImprovementCount = 0;
+        int restarts = 0;
+        long i = 0;
+
+        // The solved flag is a plain volatile read, so checking it every step is cheap
+        for (; i < iterations && !solved.get(); i++) {
+            if (QueensCore.anneal(board, currentFitness, requiredBits, currentTemp, rng)) {
+                currentFitness = board.fitness();
+
+                if (currentFitness > bestFitness) {
+                    bestFitness = currentFitness;
+                    noImprovementCount = 0;
+                    publish(board, bestFitness, maxFitness, solved, globalBest);
+                    if (bestFitness == maxFitness) {
+                        i++;
+                        break;
+                    }
+                } else {
+                    noImprovementCount++;
+                }
+            } else {
+                noImprovementCount++;
+            }
+
+            if (noImprovementCount >= maxNoImprovement) {
+                QueensCore.restart(board, scratch, requiredBits, rng);
+                restarts++;
+                currentFitness = board.fitness();
+                noImprovementCount = 0;
+
+                if (currentFitness > bestFitness) {
+                    bestFitness = currentFitness;
+                    publish(board, bestFitness, maxFitness, solved, globalBest);
+                }
+            }
+
+            currentTemp *= coolingRate;
+        }
+
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        return new ChainStats(chain, i, bestFitness, restarts, timeMs, bestFitness == maxFitness);
+    }
+
+    // Offer a chain's best to the shared best; only allocates when the global best improves
+    private static void publish(QueensBoard board, int fitness, int maxFitness, AtomicBoolean solved,
+                                AtomicReference<Best> globalBest) {
+        Best seen = globalBest.get();
+        if (fitness <= seen.fitness) {
+            return;
+        }
+        Best candidate = new Best(fitness, board.columns());
+        while (fitness > seen.fitness) {
+            if (globalBest.compareAndSet(seen, candidate)) {
+                if (fitness == maxFitness) {
+                    solved.set(true);
+                }
+                return;
+            }
+            seen = globalBest.get();
+        }
+    }
+
+    // Compare a single chain against one chain per core on the same board size
+    public static void main(String[] args) {
+        int boardSize = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int chains = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int iterations = NQueensSolver.defaultIterations(boardSize);
+
+        System.out.println("Parallel SA for board size " + boardSize + " (" + chains + " chains, seed " + seed + ")");
+
+        Result single = new ParallelQueensSolver(boardSize, 1, iterations, seed).solve();
+        report("Single chain", single);
+
+        Result parallel = new ParallelQueensSolver(boardSize, chains, iterations, seed).solve();
+        report(chains + " chains", parallel);
+
+        if (single.isSolved() && parallel.isSolved() && parallel.timeMs > 0) {
+            System.out.println("Speed-up (time-to-solution): "
+                    + String.format("%.2f", (double) single.timeMs / parallel.timeMs) + "x");
+        }
+    }
+
+    private static void report(String label, Result result) {
+        System.out.println("\n--- " + label + " ---");
+        for (ChainStats stats : result.chains) {
+            System.out.println(stats);
+        }
+        System.out.println("Best fitness: " + result.bestFitness + " / " + result.maxFitness);
+        System.out.println("Total iterations: " + result.totalIterations());
+        System.out.println((result.isSolved() ? "Time to solution: " : "Time taken: ") + result.timeMs + " ms");
+    }
+}
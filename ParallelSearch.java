@@ -0,0 +1,130 @@
+package Connect4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ParallelSearch.java
+ * Lazy SMP: every thread runs its own Search on the same root, sharing one TranspositionTable
+ * and nothing else. Thread 0 searches every depth; the helpers skip alternate depths so they run
+ * ahead of it, and what they store cuts off and orders its search. The first thread to finish,
+ * by running out of time, reaching the depth limit or solving the position, stops the others, and
+ * the move of whichever thread completed the greatest depth is played. Nodes are summed over
+ * all threads. The threads are started once, with the object, and kept for every search until
+ * close() is called.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+	private final TranspositionTable table;
+	private final int threads;
+	private final ForkJoinPool pool;
+
+	public ParallelSearch(TranspositionTable table, int threads) {
+		if (table == null) {
+			throw new IllegalArgumentException("Lazy SMP needs a shared table");
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("Threads must be at least 1");
+		}
+		this.table = table;
+		this.threads = threads;
+		this.pool = new ForkJoinPool(threads);
+	}
+
+	public TranspositionTable getTable() {
+		return table;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public Search.Result bestMove(Bitboard position, long budgetMillis) {
+		return search(position, Bitboard.ROWS * Bitboard.COLUMNS, budgetMillis);
+	}
+
+	public Search.Result search(Bitboard position, int maxDepth, long budgetMillis) {
+		long start = System.nanoTime();
+		table.newSearch();
+		AtomicBoolean stop = new AtomicBoolean();
+		List<Callable<Search.Result>> workers = new ArrayList<Callable<Search.Result>>();
+		for (int helper = 0; helper < threads; helper++) {
+			Search search = new Search(table, helper, stop);
+			workers.add(() -> {
+				try {
+					return search.search(position, maxDepth, budgetMillis);
+				} finally {
+					stop.set(true);
+				}
+			});
+		}
+
+		try {
+			Search.Result best = null;
+			long nodes = 0;
+			for (Future<Search.Result> done : pool.invokeAll(workers)) {
+				Search.Result result = done.get();
+				nodes += result.nodes;
+				if (best == null || result.depth > best.depth) {
+					best = result;
+				}
+			}
+			long timeMs = (System.nanoTime() - start) / 1_000_000;
+			return new Search.Result(best.column, best.score, best.depth, nodes, timeMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while searching", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Search failed", e.getCause());
+		}
+	}
+
+	// Stops the threads once any search in progress has finished; later searches are rejected
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+
+	// Times a search to a fixed depth on each position of a short opening line, for 1 up to the
+	// given number of threads (default: all cores), doubling each time and always ending on the
+	// maximum itself, and prints the speed-up over one thread
+	public static void main(String[] args) {
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int depth = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		int[][] suite = {{}, {3}, {3, 3}, {3, 2, 4}, {3, 3, 3, 3}, {2, 4, 3, 3, 1}};
+
+		double baseMs = 0;
+		double baseRate = 0;
+		for (int threads = 1; ; threads = Math.min(2 * threads, maxThreads)) {
+			long nodes = 0;
+			long ms = 0;
+			try (ParallelSearch search = new ParallelSearch(TranspositionTable.ofMegabytes(64), threads)) {
+				for (int[] moves : suite) {
+					Bitboard board = new Bitboard();
+					for (int col : moves) {
+						board.play(col);
+					}
+					search.getTable().clear();
+					Search.Result result = search.search(board, depth, Search.NO_TIME_LIMIT);
+					nodes += result.nodes;
+					ms += result.timeMs;
+				}
+			}
+			double rate = ms == 0 ? 0 : nodes * 1000.0 / ms;
+			if (threads == 1) {
+				baseMs = ms;
+				baseRate = rate;
+			}
+			System.out.println(String.format("%2d threads: depth %d in %6d ms (x%.2f), %,.0f nodes/s (x%.2f)",
+					threads, depth, ms, baseMs / Math.max(ms, 1), rate, rate / baseRate));
+			if (threads >= maxThreads) {
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,225 @@
+/**
+ * PartialBoardSolver.java
+ * Completes an N-Queens board on which some queens are already fixed. Each free row keeps a
+ * long bitmask of the columns still open to it; the fixed queens are propagated into these masks
+ * once at the start and never looked at again. The search then places queens only in free rows,
+ * always choosing the row with the fewest open columns, and each placement clears its column and
+ * diagonals from the remaining rows' masks, so a row left with none is a dead end found at once.
+ * Boards are limited to 64 columns, one bit each.
+ */
+
+import java.util.Arrays;
+
+public class PartialBoardSolver {
+
+    public static final int MAX_SIZE = 64;
+    public static final int FREE = -1;
+
+    private final int n;
+    private final int[] cols;
+    private final int[] freeRows;
+    private final long maxNodes;
+
+    // masks[depth][k]: open columns of freeRows[k] after depth free queens have been placed
+    private final long[][] masks;
+    private long nodes;
+    private boolean exhausted;
+
+    // partial[row] is the fixed column of that row, or FREE
+    public PartialBoardSolver(int[] partial) {
+        this(partial, Long.MAX_VALUE);
+    }
+
+    // Gives up after maxNodes placements; complete() then returns null without exhausting the search
+    public PartialBoardSolver(int[] partial, long maxNodes) {
+        n = partial.length;
+        if (n < 1 || n > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIZE);
+        }
+        int free = 0;
+        for (int col : partial) {
+            if (col == FREE) {
+                free++;
+            } else if (col < 0 || col >= n) {
+                throw new IllegalArgumentException("Column " + col + " outside board of size " + n);
+            }
+        }
+        this.cols = partial.clone();
+        this.freeRows = new int[free];
+        this.maxNodes = maxNodes;
+        this.masks = new long[free + 1][free];
+    }
+
+    // Reads a board of '.' and 'Q' in which every row holds at most one queen
+    public static int[] parse(char[][] board) {
+        int n = board.length;
+        int[] cols = new int[n];
+        for (int row = 0; row < n; row++) {
+            if (board[row] == null || board[row].length != n) {
+                throw new IllegalArgumentException("Row " + row + " is not " + n + " squares wide");
+            }
+            cols[row] = FREE;
+            for (int col = 0; col < n; col++) {
+                char c = board[row][col];
+                if (c == 'Q') {
+                    if (cols[row] != FREE) {
+                        throw new IllegalArgumentException("Row " + row + " holds more than one queen");
+                    }
+                    cols[row] = col;
+                } else if (c != '.') {
+                    throw new IllegalArgumentException("Unexpected character '" + c + "' in row " + row);
+                }
+            }
+        }
+        return cols;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    // True when the last complete() searched every option, so a null result means no completion exists
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    // The full placement extending the fixed queens, or null if there is none (or the node limit was hit)
+    public int[] complete() {
+        nodes = 0;
+        exhausted = false;
+        long all = n == 64 ? -1L : (1L << n) - 1;
+
+        // Fixed queens must not attack each other
+        boolean[] usedCol = new boolean[n];
+        boolean[] usedDiag = new boolean[2 * n - 1];
+        boolean[] usedAntiDiag = new boolean[2 * n - 1];
+        int free = 0;
+        for (int row = 0; row < n; row++) {
+            int col = cols[row];
+            if (col == FREE) {
+                freeRows[free++] = row;
+                continue;
+            }
+            if (usedCol[col] || usedDiag[row - col + n - 1] || usedAntiDiag[row + col]) {
+                exhausted = true;
+                return null;
+            }
+            usedCol[col] = true;
+            usedDiag[row - col + n - 1] = true;
+            usedAntiDiag[row + col] = true;
+        }
+
+        // Propagate every fixed queen into the free rows once
+        long[] open = masks[0];
+        Arrays.fill(open, all);
+        for (int row = 0; row < n; row++) {
+            if (cols[row] != FREE) {
+                clear(open, 0, row, cols[row]);
+            }
+        }
+
+        int[] result = cols.clone();
+        if (search(0, result)) {
+            return result;
+        }
+        exhausted = nodes < maxNodes;
+        return null;
+    }
+
+    // Removes the column and both diagonals of a queen at (row, col) from the free rows' masks,
+    // starting at index from
+    private void clear(long[] open, int from, int row, int col) {
+        for (int k = from; k < freeRows.length; k++) {
+            int d = freeRows[k] - row;
+            long attacked = 1L << col;
+            if (col + d >= 0 && col + d < n) {
+                attacked |= 1L << (col + d);
+            }
+            if (col - d >= 0 && col - d < n) {
+                attacked |= 1L << (col - d);
+            }
+            open[k] &= ~attacked;
+        }
+    }
+
+    // Free rows before depth are placed; each level moves the row it branches on to index depth
+    // and moves it back before returning false
+    private boolean search(int depth, int[] result) {
+        if (depth == freeRows.length) {
+            return true;
+        }
+        long[] open = masks[depth];
+
+        // Most constrained free row first
+        int pick = depth;
+        int fewest = Integer.MAX_VALUE;
+        for (int k = depth; k < freeRows.length; k++) {
+            int count = Long.bitCount(open[k]);
+            if (count < fewest) {
+                fewest = count;
+                pick = k;
+            }
+        }
+        if (fewest == 0) {
+            return false;
+        }
+        swap(open, depth, pick);
+
+        int row = freeRows[depth];
+        long candidates = open[depth];
+        long[] next = masks[depth + 1];
+        while (candidates != 0) {
+            if (nodes >= maxNodes) {
+                break;
+            }
+            nodes++;
+            long bit = candidates & -candidates;
+            candidates ^= bit;
+            int col = Long.numberOfTrailingZeros(bit);
+            System.arraycopy(open, depth + 1, next, depth + 1, freeRows.length - depth - 1);
+            clear(next, depth + 1, row, col);
+            if (search(depth + 1, result)) {
+                result[row] = col;
+                return true;
+            }
+        }
+        // Put the row back so the caller's masks still line up with freeRows
+        swap(open, depth, pick);
+        return false;
+    }
+
+    private void swap(long[] open, int a, int b) {
+        int row = freeRows[a];
+        freeRows[a] = freeRows[b];
+        freeRows[b] = row;
+        long mask = open[a];
+        open[a] = open[b];
+        open[b] = mask;
+    }
+
+    // Completes a board given as rows of '.' and 'Q'; an empty board of size 8 if none is given
+    public static void main(String[] args) {
+        String[] rows = args.length > 0 ? args : new String[] {
+                "Q.......", "........", "........", "........",
+                "........", "........", ".Q......", "........"};
+        char[][] board = new char[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            board[i] = rows[i].toCharArray();
+        }
+        PartialBoardSolver solver = new PartialBoardSolver(parse(board));
+        long start = System.nanoTime();
+        int[] result = solver.complete();
+        long micros = (System.nanoTime() - start) / 1000;
+        if (result == null) {
+            System.out.println("No completion exists (" + solver.getNodes() + " nodes, " + micros + " us)");
+            return;
+        }
+        System.out.println("Completed in " + solver.getNodes() + " nodes, " + micros + " us");
+        for (int row = 0; row < result.length; row++) {
+            char[] line = new char[result.length];
+            Arrays.fill(line, '.');
+            line[result[row]] = 'Q';
+            System.out.println(new String(line));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * QueensBoard.java
+ * Incremental clash counter for an N-Queens candidate in column form (cols[row] = column).
+ * Keeps occupancy counts per column, diagonal and anti-diagonal so that the effect of
+ * moving a single queen can be evaluated in O(1) instead of the O(N^2) pairwise scan.
+ * Scores are identical to QueensSolver.EQ_fitness. The clash count is a long and works for any
+ * N; the int fitness scale only reaches N = QueensCore.MAX_FITNESS_SIZE, and fitness() throws
+ * ArithmeticException above it rather than wrap round.
+ */
+
+import java.util.Arrays;
+
+public class QueensBoard {
+
+    private final int n;
+    private final int[] cols;
+    private final int[] colCount;
+    private final int[] diagCount;     // indexed by row - col + n - 1
+    private final int[] antiDiagCount; // indexed by row + col
+    private long clashes;
+
+    public QueensBoard(int n) {
+        this.n = n;
+        this.cols = new int[n];
+        this.colCount = new int[n];
+        this.diagCount = new int[2 * n - 1];
+        this.antiDiagCount = new int[2 * n - 1];
+        load(cols);
+    }
+
+    public QueensBoard(int[] initial) {
+        this(initial.length);
+        load(initial);
+    }
+
+    // Replace the whole placement and rebuild the counters in O(N)
+    public void load(int[] source) {
+        if (source.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " columns, got " + source.length);
+        }
+        Arrays.fill(colCount, 0);
+        Arrays.fill(diagCount, 0);
+        Arrays.fill(antiDiagCount, 0);
+        System.arraycopy(source, 0, cols, 0, n);
+        clashes = QueensCore.countClashes(cols, colCount, diagCount, antiDiagCount);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public int col(int row) {
+        return cols[row];
+    }
+
+    // Copy the current placement into dst (no allocation)
+    public void copyColumnsTo(int[] dst) {
+        System.arraycopy(cols, 0, dst, 0, n);
+    }
+
+    public int[] columns() {
+        return cols.clone();
+    }
+
+    // Number of clashing pairs, counted the same way as EQ_fitness
+    public long clashes() {
+        return clashes;
+    }
+
+    public boolean isSolved() {
+        return clashes == 0;
+    }
+
+    // Fitness on the EQ_fitness scale (max - 2 * clashes); never below 0, since a pair of
+    // queens shares at most one line
+    public int fitness() {
+        return QueensCore.maxFitness(n) - (int) (clashes * 2);
+    }
+
+    // Change in clash count if the queen in row moved to newCol (negative is better).
+    // The board is not modified.
+    public int moveDelta(int row, int newCol) {
+        int oldCol = cols[row];
+        if (oldCol == newCol) {
+            return 0;
+        }
+        int oldDiag = row - oldCol + n - 1;
+        int newDiag = row - newCol + n - 1;
+        int oldAnti = row + oldCol;
+        int newAnti = row + newCol;
+
+        // Pairs lost by leaving the old lines (excluding the queen itself)
+        int removed = (colCount[oldCol] - 1) + (diagCount[oldDiag] - 1) + (antiDiagCount[oldAnti] - 1);
+        // Pairs gained on the new lines (a different column in the same row never shares a line)
+        int added = colCount[newCol] + diagCount[newDiag] + antiDiagCount[newAnti];
+        return added - removed;
+    }
+
+    // Commit a move, updating the counters in O(1)
+    public void move(int row, int newCol) {
+        int oldCol = cols[row];
+        if (oldCol == newCol) {
+            return;
+        }
+        clashes -= --colCount[oldCol];
+        clashes -= --diagCount[row - oldCol + n - 1];
+        clashes -= --antiDiagCount[row + oldCol];
+        clashes += colCount[newCol]++;
+        clashes += diagCount[row - newCol + n - 1]++;
+        clashes += antiDiagCount[row + newCol]++;
+        cols[row] = newCol;
+    }
+
+    // Change in clash count if the queens in rows a and b exchanged columns (negative is better).
+    // Column counts are unaffected by a swap, so only the two diagonal families are examined.
+    public int swapDelta(int a, int b) {
+        int ca = cols[a];
+        int cb = cols[b];
+        if (ca == cb) {
+            return 0;
+        }
+        int da = a - ca + n - 1;
+        int db = b - cb + n - 1;
+        int aa = a + ca;
+        int ab = b + cb;
+        int newDa = a - cb + n - 1;
+        int newDb = b - ca + n - 1;
+        int newAa = a + cb;
+        int newAb = b + ca;
+
+        // Pairs lost by lifting both queens; a shared line counts the a-b pair from both sides
+        int removed = (diagCount[da] - 1) + (antiDiagCount[aa] - 1) + (diagCount[db] - 1) + (antiDiagCount[ab] - 1);
+        if (da == db) {
+            removed--;
+        }
+        if (aa == ab) {
+            removed--;
+        }
+
+        // Pairs gained by dropping them on their new squares, against the board without them
+        int added = liftedCount(diagCount, newDa, da, db) + liftedCount(antiDiagCount, newAa, aa, ab)
+                + liftedCount(diagCount, newDb, da, db) + liftedCount(antiDiagCount, newAb, aa, ab);
+        if (newDa == newDb) {
+            added++;
+        }
+        if (newAa == newAb) {
+            added++;
+        }
+        return added - removed;
+    }
+
+    // Count on a line once the queens on lines first and second have been lifted
+    private static int liftedCount(int[] counts, int line, int first, int second) {
+        int count = counts[line];
+        if (line == first) {
+            count--;
+        }
+        if (line == second) {
+            count--;
+        }
+        return count;
+    }
+
+    // Exchange the columns of the queens in rows a and b
+    public void swap(int a, int b) {
+        int ca = cols[a];
+        move(a, cols[b]);
+        move(b, ca);
+    }
+
+    // Number of other queens attacking the queen in row
+    public int conflictsAt(int row) {
+        int col = cols[row];
+        return (colCount[col] - 1) + (diagCount[row - col + n - 1] - 1) + (antiDiagCount[row + col] - 1);
+    }
+
+    // Recount clashes with the pairwise scan used by EQ_fitness, for verification
+    public static long pairwiseClashes(int[] cols) {
+        long count = 0;
+        for (int i = 0; i < cols.length - 1; i++) {
+            for (int j = i + 1; j < cols.length; j++) {
+                if (cols[i] == cols[j]) {
+                    count++;
+                }
+                if (j - i == Math.abs(cols[i] - cols[j])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
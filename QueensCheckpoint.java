@@ -0,0 +1,148 @@
+/**
+ * QueensCheckpoint.java
+ * Snapshot of an NQueensSolver run: solver settings for validation, the current and best
+ * placements, temperature, counters and random generator state. Stored as a compact big-endian
+ * binary file through a FileChannel. Writes go to a temporary file that is then atomically
+ * renamed, so a crash mid-write never leaves a truncated checkpoint behind.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class QueensCheckpoint {
+
+    private static final int MAGIC = 0x4E51434B; // "NQCK"
+    // Version 2 stores the schedule with its parameters rather than just its name
+    private static final int VERSION = 2;
+
+    // Bytes of the fixed fields before the schedule name, and between it and the placements
+    private static final int SETTINGS_BYTES = 4 + 8 + 4 + 4 + 2;
+    private static final int STATE_BYTES = 8 + 8 + 8 + 4 + 4 + 4 + 4 + 8 + 8;
+
+    // Solver settings, checked on resume
+    public final int boardSize;
+    public final long seed;
+    public final int iterations;
+    public final int neighbourhood;
+    public final String schedule; // CoolingSchedule.describe()
+
+    // Search state
+    public final long step;
+    public final double temperature;
+    public final double acceptanceRatio;
+    public final int noImprovementCount;
+    public final int reheats;
+    public final int improvements;
+    public final int bestFitness;
+    public final long randomState;
+    public final long elapsedNanos;
+    public final int[] current;
+    public final int[] best;
+
+    public QueensCheckpoint(int boardSize, long seed, int iterations, int neighbourhood, String schedule,
+                            long step, double temperature, double acceptanceRatio, int noImprovementCount,
+                            int reheats, int improvements, int bestFitness, long randomState, long elapsedNanos,
+                            int[] current, int[] best) {
+        this.boardSize = boardSize;
+        this.seed = seed;
+        this.iterations = iterations;
+        this.neighbourhood = neighbourhood;
+        this.schedule = schedule;
+        this.step = step;
+        this.temperature = temperature;
+        this.acceptanceRatio = acceptanceRatio;
+        this.noImprovementCount = noImprovementCount;
+        this.reheats = reheats;
+        this.improvements = improvements;
+        this.bestFitness = bestFitness;
+        this.randomState = randomState;
+        this.elapsedNanos = elapsedNanos;
+        this.current = current;
+        this.best = best;
+    }
+
+    public void write(Path file) throws IOException {
+        byte[] name = schedule.getBytes(StandardCharsets.UTF_8);
+        int headerBytes = 4 + 4 + SETTINGS_BYTES + name.length + STATE_BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(headerBytes + 8 * boardSize);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putInt(boardSize).putLong(seed).putInt(iterations).putInt(neighbourhood);
+        buffer.putShort((short) name.length).put(name);
+        buffer.putLong(step).putDouble(temperature).putDouble(acceptanceRatio);
+        buffer.putInt(noImprovementCount).putInt(reheats).putInt(improvements).putInt(bestFitness);
+        buffer.putLong(randomState).putLong(elapsedNanos);
+        buffer.asIntBuffer().put(current).put(best);
+        buffer.position(buffer.capacity());
+        buffer.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static QueensCheckpoint read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Checkpoint too large: " + size + " bytes");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until full or end of file
+            }
+        }
+        buffer.flip();
+
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not an N-Queens checkpoint: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+        if (buffer.remaining() < SETTINGS_BYTES) {
+            throw new IOException("Truncated checkpoint: " + file);
+        }
+        int boardSize = buffer.getInt();
+        long seed = buffer.getLong();
+        int iterations = buffer.getInt();
+        int neighbourhood = buffer.getInt();
+        byte[] name = new byte[buffer.getShort() & 0xFFFF];
+        if (buffer.remaining() < name.length + STATE_BYTES) {
+            throw new IOException("Truncated checkpoint: " + file);
+        }
+        buffer.get(name);
+        long step = buffer.getLong();
+        double temperature = buffer.getDouble();
+        double acceptanceRatio = buffer.getDouble();
+        int noImprovementCount = buffer.getInt();
+        int reheats = buffer.getInt();
+        int improvements = buffer.getInt();
+        int bestFitness = buffer.getInt();
+        long randomState = buffer.getLong();
+        long elapsedNanos = buffer.getLong();
+        if (buffer.remaining() != 8L * boardSize) {
+            throw new IOException("Truncated checkpoint: " + file);
+        }
+        int[] current = new int[boardSize];
+        int[] best = new int[boardSize];
+        buffer.asIntBuffer().get(current).get(best);
+
+        return new QueensCheckpoint(boardSize, seed, iterations, neighbourhood,
+                new String(name, StandardCharsets.UTF_8), step, temperature, acceptanceRatio,
+                noImprovementCount, reheats, improvements, bestFitness, randomState, elapsedNanos, current, best);
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * QueensCore.java
+ * The hot path shared by every N-Queens annealer: decoding, clash counting and fitness, the
+ * bit-flip mutation, random starting points, restarts and the Metropolis step itself.
+ * QueensSolver, ScalableNQueens, NQueensSolver, ParallelQueensSolver and ReplicaExchangeSolver
+ * all call it, so an optimisation made once applies to every one of them; the solvers keep only
+ * their own schedules and bookkeeping. Every function takes the board size, bits per queen and
+ * generator explicitly and keeps no state of its own.
+ * Random draws are made in the same order as the original code, so seeded runs are unchanged.
+ */
+public final class QueensCore {
+
+    // Largest N whose maximum fitness n(n-1) fits in an int
+    public static final int MAX_FITNESS_SIZE = 46341;
+
+    private QueensCore() {
+    }
+
+    public static int requiredBits(int boardSize) {
+        return (int) Math.ceil(Math.log(boardSize) / Math.log(2));
+    }
+
+    // n(n-1)/2 pairs, each of which can clash on a column and on a diagonal.
+    // Throws ArithmeticException above MAX_FITNESS_SIZE rather than wrap round.
+    public static int maxFitness(int boardSize) {
+        return Math.multiplyExact(boardSize, boardSize - 1);
+    }
+
+    // Column of one row, wrapped onto the board when the bits encode a value past its edge
+    public static int decodeColumn(String s, int row, int boardSize, int bits) {
+        int col = 0;
+        int offset = row * bits;
+        for (int bit = 0; bit < bits; bit++) {
+            col = (col << 1) | (s.charAt(offset + bit) == '1' ? 1 : 0);
+        }
+        return col % boardSize;
+    }
+
+    // Clashing pairs of cols in O(N): each queen forms one pair with every queen already on its
+    // column, diagonal (row - col + n - 1) and anti-diagonal (row + col). A pair can share a
+    // column or a diagonal but never both, so this equals the pairwise count. The counters must
+    // start at zero and are left holding the occupancy of every line.
+    public static long countClashes(int[] cols, int[] colCount, int[] diagCount, int[] antiDiagCount) {
+        int n = cols.length;
+        long clashes = 0;
+        for (int row = 0; row < n; row++) {
+            int col = cols[row];
+            clashes += colCount[col]++;
+            clashes += diagCount[row - col + n - 1]++;
+            clashes += antiDiagCount[row + col]++;
+        }
+        return clashes;
+    }
+
+    public static long countClashes(int[] cols) {
+        int n = cols.length;
+        return countClashes(cols, new int[n], new int[2 * n - 1], new int[2 * n - 1]);
+    }
+
+    // EQ_fitness: max fitness minus 2 per clashing pair, or 0 for a malformed string
+    public static int fitness(String s, int boardSize, int bits) {
+        if (s == null || s.length() != boardSize * bits) {
+            return 0;
+        }
+        int[] cols = new int[boardSize];
+        for (int row = 0; row < boardSize; row++) {
+            cols[row] = decodeColumn(s, row, boardSize, bits);
+        }
+        return fitness(cols);
+    }
+
+    // Same scale for column form, which needs no decoding; columns must lie on the board
+    public static int fitness(int[] cols) {
+        return maxFitness(cols.length) - (int) (countClashes(cols) * 2);
+    }
+
+    // A random column per row, each written as bits binary digits
+    public static String randomPoint(int boardSize, int bits, QueensRandom random) {
+        char[] out = new char[boardSize * bits];
+        for (int row = 0; row < boardSize; row++) {
+            int col = random.nextInt(boardSize);
+            for (int bit = 0; bit < bits; bit++) {
+                out[row * bits + bit] = ((col >> (bits - 1 - bit)) & 1) == 1 ? '1' : '0';
+            }
+        }
+        return new String(out);
+    }
+
+    // The same starting point in column form, written into cols (no allocation)
+    public static void randomFill(int[] cols, QueensRandom random) {
+        int n = cols.length;
+        for (int row = 0; row < n; row++) {
+            cols[row] = random.nextInt(n);
+        }
+    }
+
+    // Flip one random bit of one random queen
+    public static String smallChange(String s, int boardSize, int bits, QueensRandom random) {
+        char[] before = s.toCharArray();
+        int row = random.nextInt(boardSize);
+        int bitPosition = (row * bits) + random.nextInt(bits);
+        before[bitPosition] = (before[bitPosition] == '1') ? '0' : '1';
+        return new String(before);
+    }
+
+    // smallChange for one column index: flip one random bit of it, wrapping into range
+    public static int mutateColumn(int col, int boardSize, int bits, QueensRandom random) {
+        return (col ^ (1 << random.nextInt(bits))) % boardSize;
+    }
+
+    // Metropolis rule: always accept an improvement, otherwise exp(delta / T)
+    public static double acceptanceProbability(int newFitness, int currentFitness, double temperature) {
+        if (newFitness > currentFitness) {
+            return 1.0;
+        }
+        return Math.exp((newFitness - currentFitness) / temperature);
+    }
+
+    // One annealing step: mutate a random queen's column, score the move in O(1) and apply it if
+    // it passes the Metropolis test at this temperature. Returns whether the move was applied;
+    // board.fitness() is then the new score. An improving move is always applied.
+    public static boolean anneal(QueensBoard board, int currentFitness, int bits, double temperature,
+                                 QueensRandom random) {
+        int n = board.size();
+        int row = random.nextInt(n);
+        int newCol = mutateColumn(board.col(row), n, bits, random);
+        int newFitness = currentFitness - 2 * board.moveDelta(row, newCol);
+        if (acceptanceProbability(newFitness, currentFitness, temperature) > random.nextDouble()) {
+            board.move(row, newCol);
+            return true;
+        }
+        return false;
+    }
+
+    // The same step in the permutation neighbourhood: exchange the columns of two distinct rows
+    public static boolean annealSwap(QueensBoard board, int currentFitness, double temperature,
+                                     QueensRandom random) {
+        int n = board.size();
+        int row = random.nextInt(n);
+        int other = random.nextInt(n - 1);
+        if (other >= row) {
+            other++; // any row but this one
+        }
+        int newFitness = currentFitness - 2 * board.swapDelta(row, other);
+        if (acceptanceProbability(newFitness, currentFitness, temperature) > random.nextDouble()) {
+            board.swap(row, other);
+            return true;
+        }
+        return false;
+    }
+
+    // Restart a stuck chain: load a random placement into board, then hill-climb it for 2N
+    // mutations, keeping only those that remove clashes. scratch holds N columns.
+    public static void restart(QueensBoard board, int[] scratch, int bits, QueensRandom random) {
+        randomFill(scratch, random);
+        board.load(scratch);
+        int n = board.size();
+        for (int j = 0; j < n * 2; j++) {
+            int row = random.nextInt(n);
+            int col = mutateColumn(board.col(row), n, bits, random);
+            if (board.moveDelta(row, col) < 0) {
+                board.move(row, col);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * QueensCounter.java
+ * Exact count of all N-Queens solutions using long bitmasks for the occupied columns and both
+ * diagonals. The search is split into independent subtrees by the queens in the first two rows
+ * and run as RecursiveTasks on a ForkJoinPool. Left-right mirror symmetry halves the work:
+ * only first-row placements in the left half are searched and counted twice.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class QueensCounter {
+
+    // Solutions and search nodes for one count
+    public static class Result {
+        public final int boardSize;
+        public final long solutions;
+        public final long nodes;
+        public final long timeMs;
+        public final long timeNanos;
+
+        Result(int boardSize, long solutions, long nodes, long timeNanos) {
+            this.boardSize = boardSize;
+            this.solutions = solutions;
+            this.nodes = nodes;
+            this.timeMs = timeNanos / 1_000_000;
+            this.timeNanos = timeNanos;
+        }
+
+        // From the nanosecond time, so counts that finish within a millisecond still get a rate
+        public double nodesPerSecond() {
+            return timeNanos == 0 ? 0 : nodes * 1e9 / timeNanos;
+        }
+    }
+
+    // Counts one subtree; returns {solutions, nodes} so both totals combine on join
+    private static final class SubtreeTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final long all;
+        private final long cols;
+        private final long leftDiag;
+        private final long rightDiag;
+        private final long weight;
+        private long nodes;
+
+        SubtreeTask(long all, long cols, long leftDiag, long rightDiag, long weight) {
+            this.all = all;
+            this.cols = cols;
+            this.leftDiag = leftDiag;
+            this.rightDiag = rightDiag;
+            this.weight = weight;
+        }
+
+        @Override
+        protected long[] compute() {
+            long solutions = search(cols, leftDiag, rightDiag);
+            return new long[] {solutions * weight, nodes};
+        }
+
+        private long search(long cols, long leftDiag, long rightDiag) {
+            if (cols == all) {
+                return 1;
+            }
+            long count = 0;
+            long free = all & ~(cols | leftDiag | rightDiag);
+            while (free != 0) {
+                long bit = free & -free;
+                free ^= bit;
+                nodes++;
+                count += search(cols | bit, ((leftDiag | bit) << 1) & all, (rightDiag | bit) >>> 1);
+            }
+            return count;
+        }
+    }
+
+    public static Result count(int n) {
+        return count(n, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static Result count(int n, int parallelism) {
+        if (n < 1 || n > 63) {
+            throw new IllegalArgumentException("Board size must be between 1 and 63");
+        }
+        long start = System.nanoTime();
+        long all = (1L << n) - 1;
+
+        // Queens in rows 0 and 1 are placed here; each pair becomes an independent task.
+        // Row 0 only uses the left half, doubled by mirror symmetry. For odd n the middle
+        // column is mirrored onto itself, so there row 1 is restricted to the left half instead.
+        List<SubtreeTask> tasks = new ArrayList<SubtreeTask>();
+        long firstRowNodes = 0;
+        int half = n / 2;
+        for (int c0 = 0; c0 < (n + 1) / 2; c0++) {
+            long bit0 = 1L << c0;
+            firstRowNodes++;
+            boolean middle = (n % 2 == 1) && c0 == half;
+            long cols = bit0;
+            long leftDiag = (bit0 << 1) & all;
+            long rightDiag = bit0 >>> 1;
+            if (n == 1) {
+                tasks.add(new SubtreeTask(all, cols, leftDiag, rightDiag, 1));
+                continue;
+            }
+            long free = all & ~(cols | leftDiag | rightDiag);
+            if (middle) {
+                free &= (1L << half) - 1;
+            }
+            while (free != 0) {
+                long bit1 = free & -free;
+                free ^= bit1;
+                firstRowNodes++;
+                tasks.add(new SubtreeTask(all, cols | bit1, ((leftDiag | bit1) << 1) & all,
+                        (rightDiag | bit1) >>> 1, 2));
+            }
+        }
+
+        long solutions = 0;
+        long nodes = firstRowNodes;
+        ForkJoinPool pool = SolverPools.get(parallelism);
+        for (SubtreeTask task : tasks) {
+            pool.execute(task);
+        }
+        for (SubtreeTask task : tasks) {
+            long[] result = task.join();
+            solutions += result[0];
+            nodes += result[1];
+        }
+
+        return new Result(n, solutions, nodes, System.nanoTime() - start);
+    }
+
+    public static void main(String[] args) {
+        int from = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int to = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+
+        for (int n = from; n <= to; n++) {
+            Result result = count(n);
+            System.out.println("N=" + n + ": " + result.solutions + " solutions, "
+                    + result.nodes + " nodes, " + result.timeMs + " ms, "
+                    + String.format("%.0f", result.nodesPerSecond()) + " nodes/sec");
+        }
+    }
+}
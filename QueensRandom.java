@@ -0,0 +1,54 @@
+/**
+ * QueensRandom.java
+ * Small, fast, non-synchronised SplitMix64 generator. Its whole state is one long that can be
+ * read and restored, which java.util.Random and SplittableRandom do not allow, so a search can
+ * be checkpointed and resumed on exactly the same random sequence.
+ * Not thread-safe: give each thread its own instance.
+ */
+public final class QueensRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    public QueensRandom(long seed) {
+        this.state = seed;
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Uniform int in [0, bound), using Lemire's multiply-shift with rejection to stay unbiased
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xffffffffL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xffffffffL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    // Uniform double in [0, 1)
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+}
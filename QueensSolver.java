@@ -1,12 +1,23 @@
-import java.util.Random;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.management.JMException;
 
 public class QueensSolver {
     
-    private static Random random = new Random();
+    // One generator per thread: QueensRandom is unsynchronised, so static callers on different
+    // threads must never share one. Each starts from its own random seed; setSeed reseeds the
+    // calling thread's generator only
+    private static final ThreadLocal<QueensRandom> RANDOM =
+            ThreadLocal.withInitial(() -> new QueensRandom(ThreadLocalRandom.current().nextLong()));
     private static int BOARD_SIZE = 8; // Default, now changeable
     private static int requiredBits;
+    private static SolverMetrics metrics; // Optional telemetry sink for SA and SA_cols
+    private static String solverMode = "string"; // "string", "columns", "swap", "minconflicts", "constructive" or "partial"
     
     public static void main(String[] args) {
         // Allow changing board size from command line
@@ -22,15 +33,57 @@ public class QueensSolver {
             }
         }
         
-        // Calculate required bits for column representation
-        requiredBits = (int) Math.ceil(Math.log(BOARD_SIZE) / Math.log(2));
+        // Optional second argument selects the solver
+        if (args.length > 1) {
+            solverMode = args[1].toLowerCase();
+        }
+        
+        // Optional third argument fixes the seed so runs can be reproduced
+        if (args.length > 2) {
+            try {
+                setSeed(Long.parseLong(args[2]));
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid seed. Using a time-based seed.");
+            }
+        }
+        
+        setBoardSize(BOARD_SIZE);
         
         // Performance benchmarking parameters
         int[] iterationsToTest = {1000, 5000, 10000, 20000};
         
         System.out.println("Solving N-Queens Problem for board size: " + BOARD_SIZE);
+        System.out.println("Solver: " + solverMode);
+        
+        // Min-conflicts is aimed at boards far too large for the SA benchmarks below
+        if (solverMode.equals("minconflicts")) {
+            runMinConflicts();
+            return;
+        }
+        
+        // The explicit construction needs no search at all, so it skips the benchmarks too
+        if (solverMode.equals("constructive")) {
+            runConstructive();
+            return;
+        }
+        
+        // Complete a board with some queens already placed, read from standard input
+        if (solverMode.equals("partial")) {
+            runPartial();
+            return;
+        }
+        
         System.out.println("Maximum possible fitness: " + getMaxFitness());
         
+        // Expose SA progress over JMX so long runs can be monitored from outside the process
+        SolverMetrics solverMetrics = new SolverMetrics();
+        try {
+            solverMetrics.registerMBean("main");
+        } catch (JMException e) {
+            System.out.println("Could not register solver metrics: " + e.getMessage());
+        }
+        setMetrics(solverMetrics);
+        
         // Benchmark with different iteration counts
         for (int iterations : iterationsToTest) {
             runBenchmark(iterations);
@@ -38,7 +91,7 @@ public class QueensSolver {
         
         // Final run with optimized iterations
         System.out.println("\n=== FINAL OPTIMIZED RUN ===");
-        int optimizedIterations = BOARD_SIZE * BOARD_SIZE * 150; // Scale iterations with board size
+        int optimizedIterations = NQueensSolver.defaultIterations(BOARD_SIZE); // Scale iterations with board size
         runDetailedSolution(optimizedIterations);
     }
     
@@ -46,7 +99,7 @@ public class QueensSolver {
         System.out.println("\n--- Testing with " + iterations + " iterations ---");
         
         Instant start = Instant.now();
-        String solution = SA(iterations, false); // Run without verbose output
+        String solution = solve(iterations, false); // Run without verbose output
         Instant end = Instant.now();
         
         int fitness = EQ_fitness(solution);
@@ -61,7 +114,7 @@ public class QueensSolver {
     
     private static void runDetailedSolution(int iterations) {
         Instant start = Instant.now();
-        String solution = SA(iterations, true); // Run with verbose output
+        String solution = solve(iterations, true); // Run with verbose output
         Instant end = Instant.now();
         
         int fitness = EQ_fitness(solution);
@@ -82,6 +135,122 @@ public class QueensSolver {
         }
     }
     
+    // Solve with min-conflicts, validating and displaying through the usual String API when the
+    // board is small enough for the O(N^2) checks to be worthwhile
+    private static void runMinConflicts() {
+        MinConflictsSolver solver = new MinConflictsSolver(BOARD_SIZE, random().nextLong(), 100L * BOARD_SIZE);
+        
+        Instant start = Instant.now();
+        QueensBoard board = solver.solve();
+        Instant end = Instant.now();
+        
+        System.out.println("Time taken: " + Duration.between(start, end).toMillis() + " ms");
+        System.out.println("Repair steps: " + solver.getSteps() + ", swaps: " + solver.getSwaps()
+                + ", restarts: " + solver.getRestarts());
+        System.out.println("Clashes: " + board.clashes());
+        
+        if (BOARD_SIZE <= 5000) {
+            String solution = columnsToBinary(board.columns());
+            int fitness = EQ_fitness(solution);
+            System.out.println("Final fitness: " + fitness + " / " + getMaxFitness());
+            if (BOARD_SIZE <= 64) {
+                displayBoard(solution);
+            }
+            if (fitness < getMaxFitness()) {
+                analyzeConflicts(solution);
+            }
+        }
+    }
+    
+    // Build the closed-form placement, checked with linear-time counters; the String API and board
+    // display are only used when the board is small enough for them
+    private static void runConstructive() {
+        Instant start = Instant.now();
+        long clashes = ConstructiveQueensSolver.clashes(BOARD_SIZE);
+        Instant end = Instant.now();
+        
+        System.out.println("Time taken: " + Duration.between(start, end).toMillis() + " ms");
+        System.out.println("Clashes: " + clashes);
+        
+        if (BOARD_SIZE <= 64) {
+            String solution = columnsToBinary(ConstructiveQueensSolver.solve(BOARD_SIZE));
+            System.out.println("Final fitness: " + EQ_fitness(solution) + " / " + getMaxFitness());
+            displayBoard(solution);
+        }
+    }
+    
+    // Read BOARD_SIZE rows of '.' and 'Q' from standard input and complete them around the
+    // queens already placed
+    private static void runPartial() {
+        System.out.println("Enter " + BOARD_SIZE + " rows of '.' and 'Q' (at most one 'Q' per row):");
+        char[][] board = new char[BOARD_SIZE][];
+        try {
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                String line = in.readLine();
+                if (line == null) {
+                    System.out.println("Expected " + BOARD_SIZE + " rows but input ended after " + row);
+                    return;
+                }
+                board[row] = line.trim().toCharArray();
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read board: " + e.getMessage());
+            return;
+        }
+        
+        Instant start = Instant.now();
+        String solution = complete_board(board);
+        Instant end = Instant.now();
+        
+        System.out.println("Time taken: " + Duration.between(start, end).toMillis() + " ms");
+        if (solution == null) {
+            System.out.println("The board cannot be completed");
+            return;
+        }
+        System.out.println("Final fitness: " + EQ_fitness(solution) + " / " + getMaxFitness());
+        System.out.println("Solution: " + solution);
+        displayBoard(solution);
+    }
+    
+    // Set the board size used by all static methods and recalculate the bits per column
+    public static void setBoardSize(int size) {
+        BOARD_SIZE = size;
+        requiredBits = QueensCore.requiredBits(BOARD_SIZE);
+    }
+    
+    public static int getBoardSize() {
+        return BOARD_SIZE;
+    }
+    
+    // Reseed this thread's generator; the same seed replays the same initial_point, small_change
+    // and SA calls made afterwards on this thread
+    public static void setSeed(long seed) {
+        random().setState(seed);
+    }
+
+    private static QueensRandom random() {
+        return RANDOM.get();
+    }
+    
+    // Attach (or with null, detach) a telemetry sink for SA and SA_cols
+    public static void setMetrics(SolverMetrics solverMetrics) {
+        metrics = solverMetrics;
+    }
+    
+    // Run the selected solver, converting column results back to a binary String for display
+    private static String solve(int iterations, boolean verbose) {
+        if (solverMode.equals("columns")) {
+            return columnsToBinary(SA_cols(iterations, verbose));
+        }
+        if (solverMode.equals("swap")) {
+            NQueensSolver solver = new NQueensSolver(BOARD_SIZE, random().nextLong(), iterations,
+                    new CoolingSchedule.Geometric(100.0, 0.001), NQueensSolver.Neighbourhood.SWAP);
+            return columnsToBinary(solver.solve().columns);
+        }
+        return SA(iterations, verbose);
+    }
+    
     // Check if character is valid for the board
     public static boolean valid_char(char c) {
         return c == '.' || c == 'Q';
@@ -137,64 +306,34 @@ public class QueensSolver {
         return sb.toString();
     }
     
+    // Complete a partially filled board, keeping its queens where they are; rows may hold no
+    // queen or one. Returns null if the board is malformed, too large or cannot be completed
+    public static String complete_board(char[][] input_board) {
+        if (input_board == null || input_board.length != BOARD_SIZE || BOARD_SIZE > PartialBoardSolver.MAX_SIZE) {
+            return null;
+        }
+        int[] partial;
+        try {
+            partial = PartialBoardSolver.parse(input_board);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return columnsToBinary(new PartialBoardSolver(partial).complete());
+    }
+    
     // Generate a random initial solution
     public static String initial_point() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            int randomCol = random.nextInt(BOARD_SIZE);
-            String binary = Integer.toBinaryString(randomCol);
-            String binaryFormat = String.format("%" + requiredBits + "s", binary).replace(" ", "0");
-            sb.append(binaryFormat);
-        }
-        return sb.toString();
+        return QueensCore.randomPoint(BOARD_SIZE, requiredBits, random());
     }
     
     // Calculate maximum possible fitness
     public static int getMaxFitness() {
-        // Maximum pairs of queens = n(n-1)/2
-        int maxPairs = BOARD_SIZE * (BOARD_SIZE - 1) / 2;
-        return maxPairs * 2; // Each pair has 2 potential conflict points
+        return QueensCore.maxFitness(BOARD_SIZE);
     }
     
     // Calculate the fitness of a solution (higher is better)
     public static int EQ_fitness(String s) {
-        if (s == null || s.length() != BOARD_SIZE * requiredBits) {
-            return 0; // Invalid solution
-        }
-        
-        int clashes = 0;
-        int[] queenCols = new int[BOARD_SIZE];
-        
-        // Convert binary strings to column positions
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            String colBinary = s.substring(row * requiredBits, (row * requiredBits) + requiredBits);
-            int col = Integer.parseInt(colBinary, 2);
-            
-            // Handle invalid column positions (can happen with bit mutations)
-            if (col >= BOARD_SIZE) {
-                col = col % BOARD_SIZE; // Wrap around to valid position
-            }
-            
-            queenCols[row] = col;
-        }
-        
-        // Check for column and diagonal clashes
-        for (int i = 0; i < BOARD_SIZE - 1; i++) {
-            for (int j = i + 1; j < BOARD_SIZE; j++) {
-                // Column clash
-                if (queenCols[i] == queenCols[j]) {
-                    clashes++;
-                }
-                
-                // Diagonal clash
-                if (Math.abs(i - j) == Math.abs(queenCols[i] - queenCols[j])) {
-                    clashes++;
-                }
-            }
-        }
-        
-        // Maximum number of possible clashes = n(n-1)/2 pairs  2 (counting both potential clash types)
-        return getMaxFitness() - (clashes * 2);
+        return QueensCore.fitness(s, BOARD_SIZE, requiredBits);
     }
     
     // Make a small change to a solution (bit flip mutation)
@@ -202,17 +341,18 @@ public class QueensSolver {
         if (s == null || s.length() < requiredBits) {
             return initial_point();
         }
-        
-        char[] before = s.toCharArray();
-        
-        // Randomly select which queen (row) to modify
-        int row = random.nextInt(BOARD_SIZE);
-        int bitPosition = (row * requiredBits) + random.nextInt(requiredBits);
-        
-        // Flip the bit
-        before[bitPosition] = (before[bitPosition] == '1') ? '0' : '1';
-        
-        return new String(before);
+        return QueensCore.smallChange(s, BOARD_SIZE, requiredBits, random());
+    }
+    
+    // Metropolis acceptance probability shared by all annealing variants
+    public static double acceptance_probability(int newFitness, int currentFitness, double temperature) {
+        return QueensCore.acceptanceProbability(newFitness, currentFitness, temperature);
+    }
+    
+    // Simulated annealing from a fixed seed, for reproducible runs and benchmarks
+    public static String SA(int iterations, boolean verbose, long seed) {
+        setSeed(seed);
+        return SA(iterations, verbose);
     }
     
     // Simulated annealing algorithm
@@ -236,26 +376,29 @@ public class QueensSolver {
         // Tracking metrics
         int restarts = 0;
         int improvements = 0;
+        int accepts = 0;
+        int evaluations = 0;
         int lastPrintedIteration = 0;
+        if (metrics != null) {
+            metrics.reset(getMaxFitness());
+        }
         
         // Start the simulated annealing process
         for (int i = 0; i < iterations; i++) {
+            evaluations++;
             // Generate a neighboring solution
             String newSolution = small_change(currentSolution);
             int newFitness = EQ_fitness(newSolution);
             
             // Calculate acceptance probability
-            double acceptanceProbability;
+            double acceptanceProbability = acceptance_probability(newFitness, currentFitness, currentTemp);
             if (newFitness > currentFitness) {
-                acceptanceProbability = 1.0; // Always accept better solutions
                 improvements++;
-            } else {
-                // For worse solutions, calculate probability based on temperature
-                acceptanceProbability = Math.exp((newFitness - currentFitness) / currentTemp);
             }
             
             // Decide whether to accept the new solution
-            if (acceptanceProbability > random.nextDouble()) {
+            if (acceptanceProbability > random().nextDouble()) {
+                accepts++;
                 currentSolution = newSolution;
                 currentFitness = newFitness;
                 
@@ -316,6 +459,11 @@ public class QueensSolver {
             // Cool down temperature
             currentTemp *= coolingRate;
             
+            // Publish counters every PUBLISH_INTERVAL steps rather than touching shared state each step
+            if (metrics != null && (evaluations & (SolverMetrics.PUBLISH_INTERVAL - 1)) == 0) {
+                metrics.publish(evaluations, accepts, improvements, restarts, currentTemp, bestFitness);
+            }
+            
             // Print progress periodically
             if (verbose && (i % (iterations/10) == 0 || i == iterations - 1) && i > lastPrintedIteration) {
                 System.out.println("Iteration " + (i + 1) + 
@@ -326,6 +474,10 @@ public class QueensSolver {
             }
         }
         
+        if (metrics != null) {
+            metrics.publish(evaluations, accepts, improvements, restarts, currentTemp, bestFitness);
+        }
+        
         if (verbose) {
             System.out.println("Final metrics:");
             System.out.println("Total improvements: " + improvements);
@@ -336,104 +488,235 @@ public class QueensSolver {
         return bestSolution;
     }
     
-    // Analyze conflicts in a solution
-    public static void analyzeConflicts(String solution) {
-        if (solution == null || solution.length() != BOARD_SIZE * requiredBits) {
-            System.out.println("Invalid solution to analyze");
-            return;
+    // ---- int[] column representation ----
+    // cols[row] holds the column of the queen in that row. Unlike the binary String form,
+    // values are always kept in range, so no parsing or wrapping is needed when evaluating.
+    
+    // Convert a binary String solution into column indices (out of range values wrap, as in EQ_fitness)
+    public static int[] binaryToColumns(String s) {
+        if (s == null || s.length() != BOARD_SIZE * requiredBits) {
+            return null;
         }
         
-        int[] queenCols = new int[BOARD_SIZE];
+        int[] cols = new int[BOARD_SIZE];
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            int col = 0;
+            for (int bit = 0; bit < requiredBits; bit++) {
+                col = (col << 1) | (s.charAt(row * requiredBits + bit) == '1' ? 1 : 0);
+            }
+            cols[row] = col % BOARD_SIZE;
+        }
+        return cols;
+    }
+    
+    // Convert column indices back into the binary String representation
+    public static String columnsToBinary(int[] cols) {
+        if (cols == null || cols.length != BOARD_SIZE) {
+            return null;
+        }
         
-        // Convert binary strings to column positions
+        char[] out = new char[BOARD_SIZE * requiredBits];
         for (int row = 0; row < BOARD_SIZE; row++) {
-            String colBinary = solution.substring(row * requiredBits, (row * requiredBits) + requiredBits);
-            int col = Integer.parseInt(colBinary, 2) % BOARD_SIZE;
-            queenCols[row] = col;
+            for (int bit = 0; bit < requiredBits; bit++) {
+                int shift = requiredBits - 1 - bit;
+                out[row * requiredBits + bit] = ((cols[row] >> shift) & 1) == 1 ? '1' : '0';
+            }
         }
+        return new String(out);
+    }
+    
+    // Generate a random initial solution as column indices
+    public static int[] initial_point_cols() {
+        int[] cols = new int[BOARD_SIZE];
+        initial_point(cols);
+        return cols;
+    }
+    
+    // Fill an existing column array with a random solution (no allocation)
+    public static void initial_point(int[] cols) {
+        QueensCore.randomFill(cols, random());
+    }
+    
+    // Calculate the fitness of a column solution, same scoring as EQ_fitness(String)
+    public static int EQ_fitness(int[] cols) {
+        if (cols == null || cols.length != BOARD_SIZE) {
+            return 0; // Invalid solution
+        }
+        for (int col : cols) {
+            if (col < 0 || col >= BOARD_SIZE) {
+                return 0; // Queen off the board
+            }
+        }
+        return QueensCore.fitness(cols);
+    }
+    
+    // Flip one bit of a random queen's column in place (wrapping into range).
+    // Returns an undo token that undo_change can use to restore the previous column.
+    public static long small_change(int[] cols) {
+        int row = random().nextInt(BOARD_SIZE);
+        int oldCol = cols[row];
+        cols[row] = QueensCore.mutateColumn(oldCol, BOARD_SIZE, requiredBits, random());
+        return ((long) row << 32) | oldCol;
+    }
+    
+    // Revert a change made by small_change(int[])
+    public static void undo_change(int[] cols, long undo) {
+        cols[(int) (undo >>> 32)] = (int) undo;
+    }
+    
+    // Column-representation annealing from a fixed seed
+    public static int[] SA_cols(int iterations, boolean verbose, long seed) {
+        setSeed(seed);
+        return SA_cols(iterations, verbose);
+    }
+    
+    // Simulated annealing on the column representation.
+    // Same schedule and restart logic as SA, but moves are scored in O(1) by a QueensBoard
+    // and only committed when accepted, so the main loop performs no allocation.
+    public static int[] SA_cols(int iterations, boolean verbose) {
+        QueensRandom random = random();
+        QueensBoard board = new QueensBoard(initial_point_cols());
+        int[] best = board.columns();
+        int[] scratch = new int[BOARD_SIZE];
+        int currentFitness = board.fitness();
+        int bestFitness = currentFitness;
+        int maxFitness = getMaxFitness();
+        
+        // Parameters for simulated annealing
+        double initialTemp = 100.0;
+        double finalTemp = 0.001;
+        double coolingRate = Math.pow(finalTemp / initialTemp, 1.0 / iterations);
+        double currentTemp = initialTemp;
         
-        int columnConflicts = 0;
-        int diagonalConflicts = 0;
+        // Number of iterations without improvement before restarting
+        int maxNoImprovement = Math.min(1000, BOARD_SIZE * BOARD_SIZE);
+        int noImprovementCount = 0;
         
-        System.out.println("\nConflict Analysis:");
+        // Tracking metrics
+        int restarts = 0;
+        int improvements = 0;
+        int accepts = 0;
+        int evaluations = 0;
+        int lastPrintedIteration = 0;
+        if (metrics != null) {
+            metrics.reset(getMaxFitness());
+        }
         
-        // Check for column and diagonal clashes
-        for (int i = 0; i < BOARD_SIZE - 1; i++) {
-            for (int j = i + 1; j < BOARD_SIZE; j++) {
-                // Column clash
-                if (queenCols[i] == queenCols[j]) {
-                    columnConflicts++;
-                    System.out.println("Column conflict: Queen at row " + i + " and Queen at row " + j + 
-                                      " (both in column " + queenCols[i] + ")");
+        for (int i = 0; i < iterations; i++) {
+            evaluations++;
+            // Move one queen if the move passes the Metropolis test; it is scored before it is applied
+            if (QueensCore.anneal(board, currentFitness, requiredBits, currentTemp, random)) {
+                accepts++;
+                int newFitness = board.fitness();
+                if (newFitness > currentFitness) {
+                    improvements++; // improving moves are always accepted
+                }
+                currentFitness = newFitness;
+                
+                if (currentFitness > bestFitness) {
+                    board.copyColumnsTo(best);
+                    bestFitness = currentFitness;
+                    noImprovementCount = 0;
+                    
+                    if (bestFitness == maxFitness) {
+                        if (verbose) {
+                            System.out.println("Perfect solution found at iteration " + (i + 1));
+                            System.out.println("Total improvements: " + improvements);
+                            System.out.println("Total restarts: " + restarts);
+                        }
+                        break;
+                    }
+                } else {
+                    noImprovementCount++;
+                }
+            } else {
+                noImprovementCount++;
+            }
+            
+            // Restart from a new random solution if stuck
+            if (noImprovementCount >= maxNoImprovement) {
+                // Random placement improved by a short hill climb
+                QueensCore.restart(board, scratch, requiredBits, random);
+                restarts++;
+                currentFitness = board.fitness();
+                noImprovementCount = 0;
+                
+                if (currentFitness > bestFitness) {
+                    board.copyColumnsTo(best);
+                    bestFitness = currentFitness;
                 }
                 
-                // Diagonal clash
-                if (Math.abs(i - j) == Math.abs(queenCols[i] - queenCols[j])) {
-                    diagonalConflicts++;
-                    System.out.println("Diagonal conflict: Queen at (" + i + "," + queenCols[i] + ") and Queen at (" + 
-                                      j + "," + queenCols[j] + ")");
+                if (verbose && (restarts % 5 == 0 || restarts < 5)) {
+                    System.out.println("Restarted at iteration " + (i + 1) + " with fitness " + currentFitness);
                 }
             }
+            
+            // Cool down temperature
+            currentTemp *= coolingRate;
+            
+            // Publish counters every PUBLISH_INTERVAL steps rather than touching shared state each step
+            if (metrics != null && (evaluations & (SolverMetrics.PUBLISH_INTERVAL - 1)) == 0) {
+                metrics.publish(evaluations, accepts, improvements, restarts, currentTemp, bestFitness);
+            }
+            
+            if (verbose && (i % (iterations/10) == 0 || i == iterations - 1) && i > lastPrintedIteration) {
+                System.out.println("Iteration " + (i + 1) + 
+                                  ", Temperature: " + String.format("%.6f", currentTemp) + 
+                                  ", Best fitness: " + bestFitness + "/" + maxFitness +
+                                  ", Restarts: " + restarts);
+                lastPrintedIteration = i;
+            }
         }
         
-        System.out.println("Total column conflicts: " + columnConflicts);
-        System.out.println("Total diagonal conflicts: " + diagonalConflicts);
-    }
-    
-    // Display a solution as a chess board
-    public static void displayBoard(String solution) {
-        if (solution == null || solution.length() != BOARD_SIZE * requiredBits) {
-            System.out.println("Invalid solution to display");
-            return;
+        if (metrics != null) {
+            metrics.publish(evaluations, accepts, improvements, restarts, currentTemp, bestFitness);
         }
         
-        char[][] board = new char[BOARD_SIZE][BOARD_SIZE];
-        
-        // Initialize empty board
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                board[row][col] = '.';
-            }
+        if (verbose) {
+            System.out.println("Final metrics:");
+            System.out.println("Total improvements: " + improvements);
+            System.out.println("Total restarts: " + restarts);
+            System.out.println("Improvement rate: " + String.format("%.2f", (double)improvements/iterations*100) + "%");
+            System.out.println("Incremental fitness matches EQ_fitness: " + (bestFitness == EQ_fitness(best)));
         }
         
-        // Place queens
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            String colBinary = solution.substring(row * requiredBits, (row * requiredBits) + requiredBits);
-            int col = Integer.parseInt(colBinary, 2) % BOARD_SIZE; // Handle overflow
-            board[row][col] = 'Q';
+        return best;
+    }
+    
+    // Analyze conflicts in a solution
+    public static void analyzeConflicts(String solution) {
+        int[] queenCols = binaryToColumns(solution);
+        if (queenCols == null) {
+            System.out.println("Invalid solution to analyze");
+            return;
         }
         
-        // Display the board
-        System.out.println("\nBoard representation:");
-        
-        // Column headers
-        System.out.print("  ");
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            System.out.print(col % 10 + " ");
+        // Totals come from line counters in O(N); only the most crowded lines are named
+        BoardRenderer.printSummary(BoardRenderer.summarize(queenCols), System.out);
+    }
+    
+    // Display a solution as a chess board
+    public static void displayBoard(String solution) {
+        int[] queenCols = binaryToColumns(solution);
+        if (queenCols == null) {
+            System.out.println("Invalid solution to display");
+            return;
         }
-        System.out.println();
         
-        // Top border
-        System.out.print(" +");
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            System.out.print("-+");
+        // Rows are drawn into one reused buffer and written in bulk
+        try {
+            BoardRenderer.render(queenCols, System.out);
+        } catch (IOException e) {
+            System.out.println("Could not display board: " + e.getMessage());
         }
-        System.out.println();
-        
-        // Board with queens
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            System.out.print(row % 10 + "|");
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                System.out.print(board[row][col] + "|");
-            }
-            System.out.println();
-            
-            // Row separator
-            System.out.print(" +");
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                System.out.print("-+");
-            }
-            System.out.println();
+    }
+    
+    // Write a solution's board to a file, for boards too large to read on a terminal
+    public static void writeBoard(String solution, Path file) throws IOException {
+        int[] queenCols = binaryToColumns(solution);
+        if (queenCols == null) {
+            throw new IllegalArgumentException("Invalid solution to write");
         }
+        BoardRenderer.render(queenCols, file);
     }
 }
\ No newline at end of file
@@ -0,0 +1,216 @@
+/**
+ * ReplicaExchangeSolver.java
+ * Parallel tempering for N-Queens. K replicas sit on a geometric ladder of fixed temperatures
+ * and anneal in parallel with QueensCore.anneal, the step QueensSolver.SA_cols takes. After
+ * every sweep, neighbouring replicas try to swap states by the Metropolis exchange criterion, so
+ * good configurations drift towards the cold end instead of being discarded by random restarts.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+public class ReplicaExchangeSolver {
+
+    // Outcome of a replica exchange run
+    public static class Result {
+        public final int[] best;
+        public final int bestFitness;
+        public final int maxFitness;
+        public final long evaluations;
+        public final long sweeps;
+        public final long swapAttempts;
+        public final long swapsAccepted;
+        public final long timeMs;
+
+        Result(int[] best, int bestFitness, int maxFitness, long evaluations, long sweeps,
+               long swapAttempts, long swapsAccepted, long timeMs) {
+            this.best = best;
+            this.bestFitness = bestFitness;
+            this.maxFitness = maxFitness;
+            this.evaluations = evaluations;
+            this.sweeps = sweeps;
+            this.swapAttempts = swapAttempts;
+            this.swapsAccepted = swapsAccepted;
+            this.timeMs = timeMs;
+        }
+
+        public boolean isSolved() {
+            return bestFitness == maxFitness;
+        }
+    }
+
+    // One replica: a board plus its chain state. Replicas move between temperature slots on a swap.
+    private static final class Replica {
+        final QueensBoard board;
+        final QueensRandom rng;
+        int fitness;
+        long evaluations;
+
+        Replica(QueensBoard board, QueensRandom rng) {
+            this.board = board;
+            this.rng = rng;
+            this.fitness = board.fitness();
+        }
+    }
+
+    private final int boardSize;
+    private final int requiredBits;
+    private final double[] temperatures;
+    private final int sweepLength;
+    private final long maxEvaluations;
+    private final long seed;
+
+    // Temperatures form a geometric ladder from minTemp (slot 0) to maxTemp (slot replicas - 1)
+    public ReplicaExchangeSolver(int boardSize, int replicas, double minTemp, double maxTemp,
+                                 int sweepLength, long maxEvaluations, long seed) {
+        if (boardSize < 4) {
+            throw new IllegalArgumentException("Board size must be at least 4");
+        }
+        if (replicas < 2) {
+            throw new IllegalArgumentException("Replica exchange needs at least two replicas");
+        }
+        // Written so that NaN fails too
+        if (!(minTemp > 0) || !(maxTemp >= minTemp) || Double.isInfinite(maxTemp)) {
+            throw new IllegalArgumentException("Temperatures must satisfy 0 < minTemp <= maxTemp, got "
+                    + minTemp + " and " + maxTemp);
+        }
+        if (sweepLength < 1) {
+            throw new IllegalArgumentException("Sweep length must be at least 1 step");
+        }
+        if (maxEvaluations < 1) {
+            throw new IllegalArgumentException("Evaluation budget must be positive");
+        }
+        this.boardSize = boardSize;
+        this.requiredBits = QueensCore.requiredBits(boardSize);
+        this.temperatures = new double[replicas];
+        double ratio = Math.pow(maxTemp / minTemp, 1.0 / (replicas - 1));
+        for (int k = 0; k < replicas; k++) {
+            temperatures[k] = minTemp * Math.pow(ratio, k);
+        }
+        this.sweepLength = sweepLength;
+        this.maxEvaluations = maxEvaluations;
+        this.seed = seed;
+    }
+
+    public Result solve() {
+        final int replicas = temperatures.length;
+        final int maxFitness = QueensCore.maxFitness(boardSize);
+        final Replica[] slots = new Replica[replicas];
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom swapRng = root.split();
+
+        int[] scratch = new int[boardSize];
+        for (int k = 0; k < replicas; k++) {
+            QueensRandom rng = new QueensRandom(root.nextLong());
+            QueensCore.randomFill(scratch, rng);
+            slots[k] = new Replica(new QueensBoard(scratch), rng);
+        }
+
+        int[] best = slots[0].board.columns();
+        int bestFitness = Integer.MIN_VALUE;
+        long evaluations = 0;
+        long sweeps = 0;
+        long swapAttempts = 0;
+        long swapsAccepted = 0;
+        long start = System.nanoTime();
+
+        ForkJoinPool pool = SolverPools.get(Math.min(replicas, Runtime.getRuntime().availableProcessors()));
+        List<Callable<Void>> sweepTasks = new ArrayList<Callable<Void>>();
+        for (int k = 0; k < replicas; k++) {
+            final int slot = k;
+            sweepTasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    sweep(slots[slot], temperatures[slot], maxFitness);
+                    return null;
+                }
+            });
+        }
+
+        while (evaluations < maxEvaluations) {
+            // Every replica anneals at its own fixed temperature in parallel
+            pool.invokeAll(sweepTasks);
+            sweeps++;
+
+            evaluations = 0;
+            for (Replica replica : slots) {
+                evaluations += replica.evaluations;
+                if (replica.fitness > bestFitness) {
+                    bestFitness = replica.fitness;
+                    replica.board.copyColumnsTo(best);
+                }
+            }
+            if (bestFitness == maxFitness) {
+                break;
+            }
+
+            // Exchange neighbouring temperatures, alternating even and odd pairs each sweep
+            for (int k = (int) (sweeps & 1); k + 1 < replicas; k += 2) {
+                swapAttempts++;
+                Replica cold = slots[k];
+                Replica hot = slots[k + 1];
+                double exponent = (hot.fitness - cold.fitness) * (1.0 / temperatures[k] - 1.0 / temperatures[k + 1]);
+                if (exponent >= 0 || Math.exp(exponent) > swapRng.nextDouble()) {
+                    slots[k] = hot;
+                    slots[k + 1] = cold;
+                    swapsAccepted++;
+                }
+            }
+        }
+
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        return new Result(best, bestFitness, maxFitness, evaluations, sweeps, swapAttempts, swapsAccepted, timeMs);
+    }
+
+    // Run sweepLength Metropolis steps on one replica, stopping early if it finds a solution
+    private void sweep(Replica replica, double temperature, int maxFitness) {
+        QueensBoard board = replica.board;
+        QueensRandom rng = replica.rng;
+        int currentFitness = replica.fitness;
+        int steps = 0;
+        while (steps < sweepLength && currentFitness != maxFitness) {
+            if (QueensCore.anneal(board, currentFitness, requiredBits, temperature, rng)) {
+                currentFitness = board.fitness();
+            }
+            steps++;
+        }
+        replica.fitness = currentFitness;
+        replica.evaluations += steps;
+    }
+
+    // Compare evaluations-to-solution of replica exchange against single-chain SA
+    public static void main(String[] args) {
+        int boardSize = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int replicas = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        // One clash costs 2 fitness, so the cold end must make uphill moves rare
+        double minTemp = args.length > 3 ? Double.parseDouble(args[3]) : 0.2;
+        double maxTemp = args.length > 4 ? Double.parseDouble(args[4]) : 2.0;
+        int budget = NQueensSolver.defaultIterations(boardSize);
+
+        System.out.println("Replica exchange for board size " + boardSize + " (" + replicas + " replicas, T "
+                + minTemp + ".." + maxTemp + ", seed " + seed + ")");
+
+        ParallelQueensSolver.Result sa = new ParallelQueensSolver(boardSize, 1, budget, seed).solve();
+        System.out.println("\n--- Plain SA ---");
+        System.out.println("Best fitness: " + sa.bestFitness + " / " + sa.maxFitness);
+        System.out.println("Evaluations: " + sa.totalIterations());
+        System.out.println("Time taken: " + sa.timeMs + " ms");
+
+        Result pt = new ReplicaExchangeSolver(boardSize, replicas, minTemp, maxTemp, boardSize * 4,
+                (long) budget * replicas, seed).solve();
+        System.out.println("\n--- Replica exchange ---");
+        System.out.println("Best fitness: " + pt.bestFitness + " / " + pt.maxFitness);
+        System.out.println("Evaluations: " + pt.evaluations + " (" + pt.sweeps + " sweeps)");
+        System.out.println("Swap acceptance: " + pt.swapsAccepted + " / " + pt.swapAttempts);
+        System.out.println("Time taken: " + pt.timeMs + " ms");
+
+        if (sa.isSolved() && pt.isSolved()) {
+            System.out.println("Evaluation ratio (SA / replica exchange): "
+                    + String.format("%.2f", (double) sa.totalIterations() / pt.evaluations));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * ScheduleBenchmark.java
+ * Compares cooling schedules and move neighbourhoods by evaluations-to-solution. Evaluation
+ * counts are deterministic for a given seed, so unlike wall time they can be compared exactly
+ * between commits.
+ */
+public class ScheduleBenchmark {
+
+    public static void main(String[] args) {
+        int[] sizes = {16, 32, 64};
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        for (int boardSize : sizes) {
+            int budget = NQueensSolver.defaultIterations(boardSize);
+            CoolingSchedule[] schedules = {
+                new CoolingSchedule.Geometric(100.0, 0.001),
+                new CoolingSchedule.Linear(5.0, 0.01),
+                new CoolingSchedule.Logarithmic(5.0),
+                new CoolingSchedule.LundyMees(100.0, 0.001),
+                new CoolingSchedule.Adaptive(5.0, 0.05, 0.005, 0.2)
+            };
+
+            System.out.println("\n--- Board size " + boardSize + " (budget " + budget + ", " + seeds
+                    + " seeds) ---");
+            for (NQueensSolver.Neighbourhood neighbourhood : NQueensSolver.Neighbourhood.values()) {
+                for (CoolingSchedule schedule : schedules) {
+                    int solved = 0;
+                    long evaluations = 0;
+                    long timeMs = 0;
+                    for (int seed = 1; seed <= seeds; seed++) {
+                        NQueensSolver.Result result =
+                                new NQueensSolver(boardSize, seed, budget, schedule, neighbourhood).solve();
+                        if (result.isSolved()) {
+                            solved++;
+                            evaluations += result.iterations;
+                        }
+                        timeMs += result.timeMs;
+                    }
+                    System.out.println(String.format(
+                            "%-8s %-12s solved %2d/%d, mean evaluations-to-solution %s, total %d ms",
+                            neighbourhood, schedule.name(), solved, seeds,
+                            solved == 0 ? "-" : String.valueOf(evaluations / solved), timeMs));
+                }
+            }
+        }
+    }
+}
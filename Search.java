@@ -0,0 +1,365 @@
+package Connect4;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Search.java
+ * Negamax alpha-beta search over a Bitboard. Moves are tried centre first, moves that hand the
+ * opponent an immediate win are never searched, and a forced block is played without branching.
+ * Iterative deepening runs depth 1, 2, 3, ... until the time budget runs out or the game is
+ * solved, keeping the best move of the last finished depth and trying it first at the next.
+ * Scores are from the side to move: a win on the n-th move from the root scores WIN - n, a loss
+ * on it -(WIN - n), and unfinished lines are estimated from the open fours each side threatens.
+ */
+public class Search {
+
+	public static final int WIN = 10000;
+	// Budget for searches bounded by depth alone
+	public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+	// Every win or loss scores further from zero than this; estimates stay well inside it
+	private static final int PROVEN = WIN - Bitboard.ROWS * Bitboard.COLUMNS - 1;
+
+	// Columns in search order, centre first
+	private static final int[] ORDER = {3, 2, 4, 1, 5, 0, 6};
+	private static final long COLUMN = (1L << Bitboard.ROWS) - 1; // squares of column 0
+	private static final long CENTRE = COLUMN << (3 * Bitboard.HEIGHT);
+
+	// Nodes between clock reads
+	private static final int CLOCK_INTERVAL = 4096;
+
+	// Best move found by one call to bestMove
+	public static class Result {
+		public final int column;
+		public final int score;
+		public final int depth;
+		public final long nodes;
+		public final long timeMs;
+
+		Result(int column, int score, int depth, long nodes, long timeMs) {
+			this.column = column;
+			this.score = score;
+			this.depth = depth;
+			this.nodes = nodes;
+			this.timeMs = timeMs;
+		}
+
+		// True when the score is a proven win or loss rather than an estimate
+		public boolean isProven() {
+			return Math.abs(score) > PROVEN;
+		}
+
+		public double nodesPerSecond() {
+			return timeMs == 0 ? 0 : nodes * 1000.0 / timeMs;
+		}
+
+		@Override
+		public String toString() {
+			return "column " + column + ", score " + score + (isProven() ? " (proven)" : "") + ", depth " + depth
+					+ ", " + nodes + " nodes in " + timeMs + " ms";
+		}
+	}
+
+	private final TranspositionTable table;
+	private final int helper; // 0 for a search of its own or the main thread of a ParallelSearch
+	private final AtomicBoolean stop;
+	private long nodes;
+	private long probes;
+	private long hits;
+	private long stores;
+	private long overwrites;
+	private long deadline;
+	private boolean aborted;
+
+	public Search() {
+		this(null);
+	}
+
+	// table may be null to search without one; it is kept between calls
+	public Search(TranspositionTable table) {
+		this(table, 0, null);
+	}
+
+	// One thread of a ParallelSearch, which owns the table's generation and sets stop when
+	// the search is over
+	Search(TranspositionTable table, int helper, AtomicBoolean stop) {
+		this.table = table;
+		this.helper = helper;
+		this.stop = stop;
+	}
+
+	public TranspositionTable getTable() {
+		return table;
+	}
+
+	// Searches a copy of position for at most budgetMillis; returns column -1 if no move is possible
+	public Result bestMove(Bitboard position, long budgetMillis) {
+		return search(position, Bitboard.ROWS * Bitboard.COLUMNS, budgetMillis);
+	}
+
+	// As bestMove, but stops once maxDepth is complete; used to time searches to a fixed depth
+	public Result search(Bitboard position, int maxDepth, long budgetMillis) {
+		long start = System.nanoTime();
+		deadline = budgetMillis >= NO_TIME_LIMIT / 1_000_000 ? NO_TIME_LIMIT : start + budgetMillis * 1_000_000;
+		nodes = 0;
+		probes = 0;
+		hits = 0;
+		stores = 0;
+		overwrites = 0;
+		aborted = false;
+		if (table != null && stop == null) {
+			table.newSearch();
+		}
+		try {
+			return searchRoot(position, maxDepth, start);
+		} finally {
+			// Counted locally so that threads sharing the table never contend on its statistics
+			if (table != null) {
+				table.record(probes, hits, stores, overwrites);
+			}
+		}
+	}
+
+	private Result searchRoot(Bitboard position, int maxDepth, long start) {
+		Bitboard board = new Bitboard(position);
+
+		int[] order = ORDER.clone();
+		int bestColumn = -1;
+		int bestScore = 0;
+		int completedDepth = 0;
+		if (board.winner() != '.' || board.isFull()) {
+			return new Result(-1, 0, 0, 0, 0);
+		}
+		for (int col : order) {
+			if (board.canPlay(col)) {
+				if (board.isWinningMove(col)) {
+					return new Result(col, WIN - 1, 1, 1, (System.nanoTime() - start) / 1_000_000);
+				}
+				if (bestColumn < 0) {
+					bestColumn = col;
+				}
+			}
+		}
+
+		int limit = Math.min(maxDepth, Bitboard.ROWS * Bitboard.COLUMNS - board.getMoves());
+		for (int depth = 1; depth <= limit; depth++) {
+			if (skips(depth, limit)) {
+				continue;
+			}
+			int alpha = -WIN;
+			int iterationBest = -1;
+			int iterationScore = -WIN;
+			for (int col : order) {
+				if (!board.canPlay(col)) {
+					continue;
+				}
+				board.play(col);
+				int score = -negamax(board, depth - 1, -WIN, -alpha, 1);
+				board.undo(col);
+				if (aborted) {
+					break;
+				}
+				if (score > iterationScore) {
+					iterationScore = score;
+					iterationBest = col;
+				}
+				if (score > alpha) {
+					alpha = score;
+				}
+			}
+			if (aborted) {
+				break;
+			}
+			bestColumn = iterationBest;
+			bestScore = iterationScore;
+			completedDepth = depth;
+			moveToFront(order, bestColumn);
+			if (Math.abs(bestScore) > PROVEN) {
+				break; // solved
+			}
+		}
+		return new Result(bestColumn, bestScore, completedDepth, nodes, (System.nanoTime() - start) / 1_000_000);
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	// Helpers search every other depth, odd-numbered helpers the even depths and even-numbered
+	// ones the odd depths, so they run ahead of the main thread and fill the table for it
+	private boolean skips(int depth, int limit) {
+		return helper > 0 && depth > 1 && depth < limit && ((depth + helper) & 1) == 0;
+	}
+
+	// The side to move has not won yet: its opponent's last move was checked by the caller
+	private int negamax(Bitboard board, int depth, int alpha, int beta, int ply) {
+		nodes++;
+		if ((nodes & (CLOCK_INTERVAL - 1)) == 0 && (System.nanoTime() > deadline || (stop != null && stop.get()))) {
+			aborted = true;
+			return 0;
+		}
+		if (board.isFull()) {
+			return 0;
+		}
+
+		long occupied = board.occupied();
+		long playable = board.playableSquares();
+		long current = board.current();
+		if ((Bitboard.winningSquares(current, occupied) & playable) != 0) {
+			return WIN - ply - 1;
+		}
+
+		// Squares the opponent would win on: one playable must be blocked, two cannot be,
+		// and a square just below one of them must not be filled
+		long threats = Bitboard.winningSquares(board.opponent(), occupied);
+		long moves = playable;
+		long forced = threats & playable;
+		if (forced != 0) {
+			if ((forced & (forced - 1)) != 0) {
+				return -(WIN - ply - 2);
+			}
+			moves = forced;
+		}
+		moves &= ~(threats >>> 1);
+		if (moves == 0) {
+			return -(WIN - ply - 2);
+		}
+		if (depth == 0) {
+			return evaluate(board, occupied);
+		}
+
+		// A result stored at least as deep narrows the window or settles the node, and its best
+		// column is tried first either way
+		long key = 0;
+		int hashMove = TranspositionTable.NO_MOVE;
+		int originalAlpha = alpha;
+		if (table != null) {
+			key = board.key();
+			long entry = table.probe(key);
+			probes++;
+			if (entry != TranspositionTable.MISS) {
+				hits++;
+				hashMove = TranspositionTable.move(entry);
+				if (TranspositionTable.depth(entry) >= depth) {
+					int score = fromTable(TranspositionTable.score(entry), ply);
+					int bound = TranspositionTable.bound(entry);
+					if ((bound & TranspositionTable.LOWER) != 0 && score > alpha) {
+						alpha = score;
+					}
+					if ((bound & TranspositionTable.UPPER) != 0 && score < beta) {
+						beta = score;
+					}
+					if (bound == TranspositionTable.EXACT || alpha >= beta) {
+						return score;
+					}
+				}
+			}
+		}
+
+		int best = -WIN;
+		int bestMove = TranspositionTable.NO_MOVE;
+		for (int i = -1; i < ORDER.length; i++) {
+			int col = i < 0 ? hashMove : ORDER[i];
+			if (col == TranspositionTable.NO_MOVE || (i >= 0 && col == hashMove)
+					|| (moves & (COLUMN << (col * Bitboard.HEIGHT))) == 0) {
+				continue;
+			}
+			board.play(col);
+			int score = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+			board.undo(col);
+			if (aborted) {
+				return 0;
+			}
+			if (score > best) {
+				best = score;
+				bestMove = col;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		if (table != null) {
+			int bound = best <= originalAlpha ? TranspositionTable.UPPER
+					: best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+			int outcome = table.store(key, depth, toTable(best, ply), bound, bestMove);
+			if (outcome != TranspositionTable.KEPT) {
+				stores++;
+				if (outcome == TranspositionTable.REPLACED) {
+					overwrites++;
+				}
+			}
+		}
+		return best;
+	}
+
+	// Win and loss scores count moves from the root; the table holds them counted from the node
+	private static int toTable(int score, int ply) {
+		if (score > PROVEN) {
+			return score + ply;
+		}
+		if (score < -PROVEN) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int fromTable(int score, int ply) {
+		if (score > PROVEN) {
+			return score - ply;
+		}
+		if (score < -PROVEN) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	// Open fours threatened by each side, plus a small bonus for the centre column
+	private static int evaluate(Bitboard board, long occupied) {
+		long current = board.current();
+		long opponent = board.opponent();
+		int threats = Long.bitCount(Bitboard.winningSquares(current, occupied))
+				- Long.bitCount(Bitboard.winningSquares(opponent, occupied));
+		int centre = Long.bitCount(current & CENTRE) - Long.bitCount(opponent & CENTRE);
+		return 8 * threats + centre;
+	}
+
+	private static void moveToFront(int[] order, int col) {
+		int i = 0;
+		while (order[i] != col) {
+			i++;
+		}
+		for (; i > 0; i--) {
+			order[i] = order[i - 1];
+		}
+		order[0] = col;
+	}
+
+	// Plays a game against itself with the given budget per move (default 50 ms) and table size
+	// (default 64 MB, 0 for none) and reports each move's search
+	public static void main(String[] args) {
+		long budget = args.length > 0 ? Long.parseLong(args[0]) : 50;
+		int megabytes = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		Bitboard board = new Bitboard();
+		Search search = new Search(megabytes > 0 ? TranspositionTable.ofMegabytes(megabytes) : null);
+		long totalNodes = 0;
+		long totalMs = 0;
+		while (board.winner() == '.' && !board.isFull()) {
+			char player = board.toMove();
+			Result result = search.bestMove(board, budget);
+			totalNodes += result.nodes;
+			totalMs += result.timeMs;
+			System.out.println(player + ": " + result);
+			board.play(result.column);
+		}
+		System.out.print(board);
+		System.out.println("Result: " + (board.winner() == '.' ? "draw" : board.winner() + " wins"));
+		if (totalMs > 0) {
+			System.out.println("Average speed: " + String.format("%.0f", totalNodes * 1000.0 / totalMs) + " nodes/s");
+		}
+		if (search.getTable() != null) {
+			System.out.println("Transposition table: " + search.getTable());
+		}
+	}
+}
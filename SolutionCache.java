@@ -0,0 +1,301 @@
+/**
+ * SolutionCache.java
+ * Verified N-Queens solutions keyed by board size, kept in front of a solver. Memory is bounded by
+ * the total number of columns held, not the number of boards, so a few huge boards cannot fill
+ * the heap: least-recently-used boards are dropped until the total fits, and a board larger than
+ * the whole limit is never kept in memory. When a directory is given every stored board is also
+ * written there and read back on a memory miss, so solutions survive restarts. Any of the
+ * 8 rotations and reflections of a cached board is again a solution, so variant() hands out
+ * distinct placements for the same N without searching. Lookups count hits and latency.
+ */
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class SolutionCache implements SolutionCacheMXBean {
+
+    public static final int SYMMETRIES = 8;
+
+    private final long maxColumns;
+    private final Path directory;
+    private final LinkedHashMap<Integer, int[]> boards; // in access order
+    private long columns; // total length of the boards in memory, guarded by boards
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
+    // maxColumns bounds the queens held in memory, at 4 bytes each
+    public SolutionCache(long maxColumns) {
+        this(maxColumns, null);
+    }
+
+    // directory may be null for a memory-only cache
+    public SolutionCache(long maxColumns, Path directory) {
+        if (maxColumns < 1) {
+            throw new IllegalArgumentException("Column limit must be at least 1");
+        }
+        this.maxColumns = maxColumns;
+        this.directory = directory;
+        this.boards = new LinkedHashMap<Integer, int[]>(16, 0.75f, true);
+    }
+
+    // Adds a board to memory and drops the least recently used until the total fits
+    private void keep(int[] cols) {
+        synchronized (boards) {
+            int[] old = boards.remove(cols.length);
+            if (old != null) {
+                columns -= old.length;
+            }
+            if (cols.length > maxColumns) {
+                return;
+            }
+            boards.put(cols.length, cols);
+            columns += cols.length;
+            Iterator<Map.Entry<Integer, int[]>> eldest = boards.entrySet().iterator();
+            while (columns > maxColumns) {
+                columns -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    // A stored solution for boardSize, or null if there is none in memory or on disk
+    public int[] get(int boardSize) {
+        long start = System.nanoTime();
+        try {
+            int[] cols;
+            synchronized (boards) {
+                cols = boards.get(boardSize);
+            }
+            if (cols != null) {
+                hits.increment();
+                return cols.clone();
+            }
+            cols = readFromDisk(boardSize);
+            if (cols != null) {
+                diskHits.increment();
+                keep(cols);
+                return cols.clone();
+            }
+            misses.increment();
+            return null;
+        } finally {
+            lookupNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    // Symmetry k (0..7) of the stored solution; k = 0 is the stored board itself
+    public int[] variant(int boardSize, int k) {
+        int[] cols = get(boardSize);
+        return cols == null ? null : transform(cols, k);
+    }
+
+    // The cached solution, or one from solver (which may return null) that is then verified and stored
+    public int[] getOrSolve(int boardSize, IntFunction<int[]> solver) throws IOException {
+        int[] cols = get(boardSize);
+        if (cols == null) {
+            // Solved outside the lock, so two threads missing on the same N may both search
+            cols = solver.apply(boardSize);
+            if (cols != null) {
+                put(cols);
+            }
+        }
+        return cols;
+    }
+
+    // Stores a solution after checking it; rejects anything that is not conflict free
+    public void put(int[] cols) throws IOException {
+        if (!isSolution(cols)) {
+            throw new IllegalArgumentException("Not an N-Queens solution");
+        }
+        int[] copy = cols.clone();
+        keep(copy);
+        writeToDisk(copy);
+    }
+
+    // True when cols places one queen per row with no shared column or diagonal, in O(N)
+    public static boolean isSolution(int[] cols) {
+        int n = cols.length;
+        if (n == 0) {
+            return false;
+        }
+        for (int col : cols) {
+            if (col < 0 || col >= n) {
+                return false;
+            }
+        }
+        return new QueensBoard(cols).isSolved();
+    }
+
+    // Maps (row, col) through one of the 8 symmetries of the square: rotations by k * 90 degrees
+    // for k < 4, then the same rotations after a left-right mirror
+    public static int[] transform(int[] cols, int k) {
+        if (k < 0 || k >= SYMMETRIES) {
+            throw new IllegalArgumentException("Symmetry must be between 0 and 7");
+        }
+        int n = cols.length;
+        int last = n - 1;
+        int[] out = new int[n];
+        for (int row = 0; row < n; row++) {
+            int col = k < 4 ? cols[row] : last - cols[row];
+            switch (k & 3) {
+                case 0:
+                    out[row] = col;
+                    break;
+                case 1:
+                    out[col] = last - row;
+                    break;
+                case 2:
+                    out[last - row] = last - col;
+                    break;
+                default:
+                    out[last - col] = row;
+                    break;
+            }
+        }
+        return out;
+    }
+
+    private Path fileFor(int boardSize) {
+        return directory.resolve("queens-" + boardSize + ".bin");
+    }
+
+    // Big-endian ints, one column per row; written to a temporary file then renamed
+    private void writeToDisk(int[] cols) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        ByteBuffer buffer = ByteBuffer.allocate(4 * cols.length);
+        buffer.asIntBuffer().put(cols);
+        Path file = fileFor(cols.length);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // A board from disk, or null if missing or not a valid solution
+    private int[] readFromDisk(int boardSize) {
+        if (directory == null) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(fileFor(boardSize)));
+            if (buffer.remaining() != 4L * boardSize) {
+                return null;
+            }
+            int[] cols = new int[boardSize];
+            buffer.asIntBuffer().get(cols);
+            return isSolution(cols) ? cols : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long found = hits.sum() + diskHits.sum();
+        long total = found + misses.sum();
+        return total == 0 ? 0 : (double) found / total;
+    }
+
+    public double getMeanLookupMicros() {
+        long total = hits.sum() + diskHits.sum() + misses.sum();
+        return total == 0 ? 0 : lookupNanos.sum() / 1000.0 / total;
+    }
+
+    public int getSize() {
+        synchronized (boards) {
+            return boards.size();
+        }
+    }
+
+    public long getColumns() {
+        synchronized (boards) {
+            return columns;
+        }
+    }
+
+    public long getMaxColumns() {
+        return maxColumns;
+    }
+
+    // Expose the hit and latency counters on the platform MBean server under the given name
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("QueensSolver:type=SolutionCache,name=" + name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() + ", diskHits=" + getDiskHits() + ", misses=" + getMisses()
+                + ", hitRate=" + String.format("%.3f", getHitRate())
+                + ", meanLookup=" + String.format("%.2f", getMeanLookupMicros()) + " us"
+                + ", size=" + getSize() + " boards, " + getColumns() + "/" + maxColumns + " columns";
+    }
+
+    // Asks for each size twice and for all 8 variants, with an optional cache directory
+    public static void main(String[] args) throws IOException {
+        SolutionCache cache = new SolutionCache(1 << 20, args.length > 0 ? Paths.get(args[0]) : null);
+        int[] sizes = {8, 16, 64, 256, 1000};
+        for (int pass = 1; pass <= 2; pass++) {
+            for (int size : sizes) {
+                long start = System.nanoTime();
+                int[] cols = cache.getOrSolve(size, n -> {
+                    QueensBoard board = new MinConflictsSolver(n, n, 100L * n).solve();
+                    return board.isSolved() ? board.columns() : null;
+                });
+                System.out.println("Pass " + pass + ", N=" + size + ": " + (cols != null ? "solution" : "none")
+                        + " in " + (System.nanoTime() - start) / 1000 + " us");
+            }
+        }
+        int distinct = 0;
+        int[][] seen = new int[SYMMETRIES][];
+        for (int k = 0; k < SYMMETRIES; k++) {
+            seen[k] = cache.variant(8, k);
+            boolean isNew = isSolution(seen[k]);
+            for (int j = 0; j < k && isNew; j++) {
+                isNew = !Arrays.equals(seen[j], seen[k]);
+            }
+            if (isNew) {
+                distinct++;
+            }
+        }
+        System.out.println("Distinct valid variants of the N=8 board: " + distinct);
+        System.out.println(cache);
+    }
+}
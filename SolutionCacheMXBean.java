@@ -0,0 +1,14 @@
+/**
+ * SolutionCacheMXBean.java
+ * Read-only JMX view of SolutionCache.
+ */
+public interface SolutionCacheMXBean {
+    long getHits();
+    long getDiskHits();
+    long getMisses();
+    double getHitRate();
+    double getMeanLookupMicros();
+    int getSize();
+    long getColumns();
+    long getMaxColumns();
+}
@@ -0,0 +1,110 @@
+/**
+ * SolverMetrics.java
+ * Progress counters for a running annealing search. The solver keeps its counters in local
+ * variables and publishes them here every PUBLISH_INTERVAL steps with ordered (lazySet) writes,
+ * so the hot loop never locks or builds strings. Readers can poll the getters, register a
+ * Listener, or scrape the values over JMX.
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class SolverMetrics implements SolverMetricsMXBean {
+
+    // Steps between publications; a power of two so the check is a mask
+    public static final int PUBLISH_INTERVAL = 1024;
+
+    // Called on the solver thread after each publication
+    public interface Listener {
+        void onProgress(SolverMetrics metrics);
+    }
+
+    private static final int EVALUATIONS = 0;
+    private static final int ACCEPTS = 1;
+    private static final int IMPROVEMENTS = 2;
+    private static final int RESTARTS = 3;
+    private static final int TEMPERATURE = 4; // raw double bits
+    private static final int BEST_FITNESS = 5;
+    private static final int MAX_FITNESS = 6;
+
+    private final AtomicLongArray values = new AtomicLongArray(7);
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // Called by the solver when a run starts
+    public void reset(long maxFitness) {
+        for (int i = 0; i < values.length(); i++) {
+            values.lazySet(i, 0);
+        }
+        values.lazySet(MAX_FITNESS, maxFitness);
+    }
+
+    // Called by the solver every PUBLISH_INTERVAL steps and once at the end of a run
+    public void publish(long evaluations, long accepts, long improvements, long restarts,
+                        double temperature, long bestFitness) {
+        values.lazySet(EVALUATIONS, evaluations);
+        values.lazySet(ACCEPTS, accepts);
+        values.lazySet(IMPROVEMENTS, improvements);
+        values.lazySet(RESTARTS, restarts);
+        values.lazySet(TEMPERATURE, Double.doubleToRawLongBits(temperature));
+        values.lazySet(BEST_FITNESS, bestFitness);
+        for (Listener listener : listeners) {
+            listener.onProgress(this);
+        }
+    }
+
+    public long getEvaluations() {
+        return values.get(EVALUATIONS);
+    }
+
+    public long getAccepts() {
+        return values.get(ACCEPTS);
+    }
+
+    public long getImprovements() {
+        return values.get(IMPROVEMENTS);
+    }
+
+    public long getRestarts() {
+        return values.get(RESTARTS);
+    }
+
+    public double getTemperature() {
+        return Double.longBitsToDouble(values.get(TEMPERATURE));
+    }
+
+    public long getBestFitness() {
+        return values.get(BEST_FITNESS);
+    }
+
+    public long getMaxFitness() {
+        return values.get(MAX_FITNESS);
+    }
+
+    // Expose these counters on the platform MBean server under the given name
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("QueensSolver:type=SolverMetrics,name=" + name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public String toString() {
+        return "evaluations=" + getEvaluations() + ", accepts=" + getAccepts()
+                + ", improvements=" + getImprovements() + ", restarts=" + getRestarts()
+                + ", temperature=" + String.format("%.6f", getTemperature())
+                + ", best=" + getBestFitness() + "/" + getMaxFitness();
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * SolverMetricsMXBean.java
+ * Read-only JMX view of SolverMetrics.
+ */
+public interface SolverMetricsMXBean {
+    long getEvaluations();
+    long getAccepts();
+    long getImprovements();
+    long getRestarts();
+    double getTemperature();
+    long getBestFitness();
+    long getMaxFitness();
+}
@@ -0,0 +1,29 @@
+/**
+ * SolverPools.java
+ * Fork-join pools shared by every parallel solver, one per parallelism level, created on first use
+ * and kept for the life of the JVM. A solve() borrows a pool instead of starting and stopping its
+ * own threads, so a timed run measures the search rather than thread start-up. The workers are
+ * daemon threads and retire when idle, so the pools never keep the JVM alive or hold cores.
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+public final class SolverPools {
+
+    private static final ConcurrentHashMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<Integer, ForkJoinPool>();
+
+    private SolverPools() {
+    }
+
+    // The shared pool with the given parallelism; never shut it down
+    public static ForkJoinPool get(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (parallelism == ForkJoinPool.getCommonPoolParallelism()) {
+            return ForkJoinPool.commonPool();
+        }
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+}
@@ -0,0 +1,183 @@
+package Connect4;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TranspositionTable.java
+ * Search results for positions already seen, keyed by Bitboard.key(). The table is one long[]
+ * holding two words per entry, the key XORed with a packed result and the result itself, so it
+ * allocates nothing after construction and its footprint is exactly the size it was given. An
+ * entry records the score, whether that score is exact or only a lower or upper bound, the depth
+ * it was searched to and the best column. A new result replaces the old one at its index unless
+ * the old one was searched deeper during the current search. Each Search counts its own probes,
+ * hits and stores in plain fields and adds them to the table's totals once it ends, so the hot
+ * path touches no shared counters; the totals cover finished searches only.
+ * Threads may share one table without locking: a probe that sees the two words of an entry from
+ * different stores fails the XOR check and is simply a miss.
+ */
+public class TranspositionTable {
+
+	public static final int LOWER = 1; // score is at least the stored one
+	public static final int UPPER = 2; // score is at most the stored one
+	public static final int EXACT = LOWER | UPPER;
+
+	public static final int NO_MOVE = 7;
+	public static final long MISS = -1;
+
+	public static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+	// What store() did
+	public static final int KEPT = 0;     // a deeper result from this search was left in place
+	public static final int STORED = 1;   // written into an empty slot or over the same position
+	public static final int REPLACED = 2; // written over another position's result
+
+	// Packed result: score (16 bits, offset), depth (8), bound (2), move (3), generation (8)
+	private static final int SCORE_OFFSET = 1 << 15;
+	private static final int DEPTH_SHIFT = 16;
+	private static final int BOUND_SHIFT = 24;
+	private static final int MOVE_SHIFT = 26;
+	private static final int GENERATION_SHIFT = 29;
+
+	private final long[] entries;
+	private final int mask;
+	private volatile int generation;
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder stores = new LongAdder();
+	private final LongAdder overwrites = new LongAdder();
+
+	// Largest table of a power-of-two number of entries that fits in bytes
+	public TranspositionTable(long bytes) {
+		long count = bytes / ENTRY_BYTES;
+		if (count < 1) {
+			throw new IllegalArgumentException("Table needs at least " + ENTRY_BYTES + " bytes");
+		}
+		if (count > 1 << 29) {
+			throw new IllegalArgumentException("Table is limited to " + ((1L << 29) * ENTRY_BYTES) + " bytes");
+		}
+		int size = Integer.highestOneBit((int) count);
+		entries = new long[2 * size];
+		mask = size - 1;
+	}
+
+	public static TranspositionTable ofMegabytes(int megabytes) {
+		return new TranspositionTable((long) megabytes << 20);
+	}
+
+	public int capacity() {
+		return mask + 1;
+	}
+
+	public long memoryBytes() {
+		return (long) entries.length * Long.BYTES;
+	}
+
+	// Keys are unique per position, so mixing them only spreads neighbouring positions apart
+	private int index(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) ((h ^ (h >>> 32)) & mask) << 1;
+	}
+
+	// The packed result stored for key, or MISS. Keys are never 0, so empty entries always miss
+	public long probe(long key) {
+		int i = index(key);
+		long data = entries[i + 1];
+		if ((entries[i] ^ data) != key) {
+			return MISS;
+		}
+		return data;
+	}
+
+	// Returns KEPT, STORED or REPLACED
+	public int store(long key, int depth, int score, int bound, int move) {
+		int i = index(key);
+		long old = entries[i + 1];
+		long oldKey = entries[i] ^ old;
+		int current = generation & 0xFF;
+		int outcome = STORED;
+		if (oldKey != key && oldKey != 0) {
+			if (generation(old) == current && depth(old) > depth) {
+				return KEPT;
+			}
+			outcome = REPLACED;
+		}
+		long data = (score + SCORE_OFFSET)
+				| (long) depth << DEPTH_SHIFT
+				| (long) bound << BOUND_SHIFT
+				| (long) move << MOVE_SHIFT
+				| (long) current << GENERATION_SHIFT;
+		entries[i] = key ^ data;
+		entries[i + 1] = data;
+		return outcome;
+	}
+
+	public static int score(long entry) {
+		return (int) (entry & 0xFFFF) - SCORE_OFFSET;
+	}
+
+	public static int depth(long entry) {
+		return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+	}
+
+	public static int bound(long entry) {
+		return (int) (entry >>> BOUND_SHIFT) & 3;
+	}
+
+	public static int move(long entry) {
+		return (int) (entry >>> MOVE_SHIFT) & 7;
+	}
+
+	private static int generation(long entry) {
+		return (int) (entry >>> GENERATION_SHIFT) & 0xFF;
+	}
+
+	// Called before each search, so entries left from earlier ones give way to new results
+	public void newSearch() {
+		generation++;
+	}
+
+	// Adds one finished search's counts to the totals
+	void record(long searchProbes, long searchHits, long searchStores, long searchOverwrites) {
+		probes.add(searchProbes);
+		hits.add(searchHits);
+		stores.add(searchStores);
+		overwrites.add(searchOverwrites);
+	}
+
+	public void clear() {
+		Arrays.fill(entries, 0);
+		probes.reset();
+		hits.reset();
+		stores.reset();
+		overwrites.reset();
+	}
+
+	public long getProbes() {
+		return probes.sum();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getStores() {
+		return stores.sum();
+	}
+
+	public long getOverwrites() {
+		return overwrites.sum();
+	}
+
+	public double getHitRate() {
+		long p = probes.sum();
+		return p == 0 ? 0 : (double) hits.sum() / p;
+	}
+
+	@Override
+	public String toString() {
+		return capacity() + " entries (" + (memoryBytes() >> 10) + " KiB), " + getProbes() + " probes, "
+				+ String.format("%.1f", 100 * getHitRate()) + "% hits, " + getOverwrites() + " overwrites";
+	}
+}
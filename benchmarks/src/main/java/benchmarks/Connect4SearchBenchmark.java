@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Connect4.Bitboard;
+import Connect4.ParallelSearch;
+import Connect4.Search;
+import Connect4.TranspositionTable;
+
+/**
+ * The Lazy SMP Connect4 search over a fixed suite of opening positions, for 1 to 8 threads:
+ * time to reach a fixed depth, and nodes searched per second. Each position starts from an
+ * empty table, so every invocation does the same kind of work, and the speed-up is read off by
+ * comparing the rows for each thread count. The search threads are started once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Connect4SearchBenchmark {
+
+    // Moves from the empty board, by column
+    private static final int[][] SUITE = {{}, {3}, {3, 3}, {3, 2, 4}, {3, 3, 3, 3}, {2, 4, 3, 3, 1}};
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"14"})
+    public int depth;
+
+    private ParallelSearch search;
+    private Bitboard[] positions;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        search = new ParallelSearch(TranspositionTable.ofMegabytes(64), threads);
+        positions = new Bitboard[SUITE.length];
+        for (int i = 0; i < SUITE.length; i++) {
+            positions[i] = new Bitboard();
+            for (int col : SUITE[i]) {
+                positions[i].play(col);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        search.close();
+    }
+
+    @Benchmark
+    public long timeToDepth() {
+        return searchSuite();
+    }
+
+    // The same searches, with the nodes counter reported per second
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void nodesPerSecond(Nodes counter) {
+        counter.nodes += searchSuite();
+    }
+
+    // Searches every position of the suite to depth, returning the nodes searched
+    private long searchSuite() {
+        long nodes = 0;
+        for (Bitboard position : positions) {
+            search.getTable().clear();
+            nodes += search.search(position, depth, Search.NO_TIME_LIMIT).nodes;
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,117 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Per-operation costs of the QueensSolver building blocks and of a full SA run, for both the
+ * binary String and the int[] column representations, and of a GA run on the same budget.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QueensSolverBenchmark {
+
+    @Param({"8", "32", "128"})
+    public int boardSize;
+
+    // Fixed so every fork and every commit anneals along the same trajectory
+    @Param({"42"})
+    public long seed;
+
+    private String candidate;
+    private int[] columns;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Solvers.SET_BOARD_SIZE.invokeExact(boardSize);
+        Solvers.SET_SEED.invokeExact(seed);
+        candidate = (String) Solvers.INITIAL_POINT.invokeExact();
+        columns = (int[]) Solvers.INITIAL_POINT_COLS.invokeExact();
+    }
+
+    @Benchmark
+    public String initialPoint() throws Throwable {
+        return (String) Solvers.INITIAL_POINT.invokeExact();
+    }
+
+    @Benchmark
+    public int eqFitness() throws Throwable {
+        return (int) Solvers.EQ_FITNESS.invokeExact(candidate);
+    }
+
+    @Benchmark
+    public int eqFitnessColumns() throws Throwable {
+        return (int) Solvers.EQ_FITNESS_COLS.invokeExact(columns);
+    }
+
+    @Benchmark
+    public String smallChange() throws Throwable {
+        return (String) Solvers.SMALL_CHANGE.invokeExact(candidate);
+    }
+
+    @Benchmark
+    public void smallChangeColumns(Blackhole bh) throws Throwable {
+        long undo = (long) Solvers.SMALL_CHANGE_COLS.invokeExact(columns);
+        bh.consume(columns[(int) (undo >>> 32)]);
+        Solvers.UNDO_CHANGE.invokeExact(columns, undo);
+    }
+
+    // Full annealing runs are far longer, so they are reported per run in milliseconds.
+    // Each run is reseeded, so every invocation does identical work.
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public String simulatedAnnealing() throws Throwable {
+        return (String) Solvers.SA.invokeExact(20000, false, seed);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public int[] simulatedAnnealingColumns() throws Throwable {
+        return (int[]) Solvers.SA_COLS.invokeExact(20000, false, seed);
+    }
+
+    // 64 individuals for 312 generations is the same 20000-evaluation budget as the SA runs;
+    // like them it stops early once a solution is found
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Object geneticAlgorithm() throws Throwable {
+        return (Object) Solvers.GENETIC.invokeExact(boardSize, 64, 312, seed);
+    }
+
+    // Runs every benchmark in this module with the GC profiler so allocation per op is reported
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("benchmarks\\..*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
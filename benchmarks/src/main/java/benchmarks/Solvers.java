@@ -0,0 +1,57 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Handles onto the solver entry points. The solvers are in the default package, which a named
+ * package cannot import, so they are bound once through static final MethodHandles; the JIT
+ * treats these as constants and inlines straight through them.
+ */
+final class Solvers {
+
+    static final MethodHandle SET_BOARD_SIZE;
+    static final MethodHandle SET_SEED;
+    static final MethodHandle INITIAL_POINT;
+    static final MethodHandle INITIAL_POINT_COLS;
+    static final MethodHandle EQ_FITNESS;
+    static final MethodHandle EQ_FITNESS_COLS;
+    static final MethodHandle SMALL_CHANGE;
+    static final MethodHandle SMALL_CHANGE_COLS;
+    static final MethodHandle UNDO_CHANGE;
+    static final MethodHandle SA;
+    static final MethodHandle SA_COLS;
+    // (boardSize, populationSize, generations, seed) -> GeneticSolver.Result, as an Object
+    static final MethodHandle GENETIC;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> solver = Class.forName("QueensSolver");
+            SET_BOARD_SIZE = lookup.findStatic(solver, "setBoardSize", MethodType.methodType(void.class, int.class));
+            SET_SEED = lookup.findStatic(solver, "setSeed", MethodType.methodType(void.class, long.class));
+            INITIAL_POINT = lookup.findStatic(solver, "initial_point", MethodType.methodType(String.class));
+            INITIAL_POINT_COLS = lookup.findStatic(solver, "initial_point_cols", MethodType.methodType(int[].class));
+            EQ_FITNESS = lookup.findStatic(solver, "EQ_fitness", MethodType.methodType(int.class, String.class));
+            EQ_FITNESS_COLS = lookup.findStatic(solver, "EQ_fitness", MethodType.methodType(int.class, int[].class));
+            SMALL_CHANGE = lookup.findStatic(solver, "small_change", MethodType.methodType(String.class, String.class));
+            SMALL_CHANGE_COLS = lookup.findStatic(solver, "small_change", MethodType.methodType(long.class, int[].class));
+            UNDO_CHANGE = lookup.findStatic(solver, "undo_change", MethodType.methodType(void.class, int[].class, long.class));
+            SA = lookup.findStatic(solver, "SA", MethodType.methodType(String.class, int.class, boolean.class, long.class));
+            SA_COLS = lookup.findStatic(solver, "SA_cols", MethodType.methodType(int[].class, int.class, boolean.class, long.class));
+            Class<?> genetic = Class.forName("GeneticSolver");
+            MethodHandle create = lookup.findConstructor(genetic,
+                    MethodType.methodType(void.class, int.class, int.class, int.class, long.class));
+            MethodHandle solve = lookup.findVirtual(genetic, "solve",
+                    MethodType.methodType(Class.forName("GeneticSolver$Result")));
+            GENETIC = MethodHandles.filterReturnValue(create, solve)
+                    .asType(MethodType.methodType(Object.class, int.class, int.class, int.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Solvers() {
+    }
+}